@@ -1,11 +1,14 @@
 package fickle;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 import fickle.commands.Command;
 import fickle.exceptions.FickleException;
 import fickle.parser.Parser;
 import fickle.storage.Storage;
+import fickle.storage.StorageSettings;
 import fickle.tasks.TaskList;
 import fickle.ui.Ui;
 
@@ -13,17 +16,36 @@ import fickle.ui.Ui;
  * Fickle chatbot main class.
  */
 public class Fickle {
+    // Number of commands that can be undone
+    private static final int UNDO_HISTORY_DEPTH = 100;
+    // Read from the folder of the save file
+    private static final String SETTINGS_FILE_NAME = "fickle.properties";
+
     private Ui ui;
     private TaskList tasks;
     private Storage storage;
+    private String settingsPath;
 
     /**
      * Constructor for Fickle.
+     * The storage modes are read from the settings file in the folder of the save file when Fickle is run.
      */
     public Fickle(String filePath) {
         ui = new Ui();
         storage = new Storage(filePath);
+        settingsPath = Path.of(filePath).resolveSibling(SETTINGS_FILE_NAME).toString();
         tasks = new TaskList();
+        tasks.enableHistory(UNDO_HISTORY_DEPTH);
+    }
+
+    /**
+     * Sets the listener that displays saves which fail after their command has returned.
+     * The listener is called from the storage writer thread.
+     *
+     * @param listener Receives the messages to display, represented by [mainMessage, specialMessage].
+     */
+    public void setSaveFailureListener(Consumer<String[]> listener) {
+        storage.setWriteFailureListener(message -> listener.accept(ui.getSaveFailureMessages(message)));
     }
 
     /**
@@ -35,6 +57,7 @@ public class Fickle {
     public ArrayList<String[]> run() {
         ArrayList<String[]> welcomeMessages = new ArrayList<>();
 
+        applySettings(welcomeMessages);
         loadTasks(welcomeMessages);
         addCorruptedWarnings(welcomeMessages);
         addGreetingMessages(welcomeMessages);
@@ -42,6 +65,27 @@ public class Fickle {
         return welcomeMessages;
     }
 
+    /**
+     * Sets the storage modes from the settings file.
+     * Uses the default modes and displays the exception message if the settings file is invalid.
+     *
+     * @param welcomeMessages ArrayList to collect any exception message for display.
+     */
+    private void applySettings(ArrayList<String[]> welcomeMessages) {
+        StorageSettings settings;
+
+        try {
+            settings = StorageSettings.read(settingsPath);
+        } catch (FickleException e) {
+            ui.printFickleException(e.getMessage());
+            welcomeMessages.add(ui.getOutput());
+
+            settings = new StorageSettings();
+        }
+
+        settings.applyTo(storage);
+    }
+
     /**
     * Loads tasks from storage into the task list.
     * Initialises an empty task list and display exception message if failed to load storage.
@@ -50,13 +94,15 @@ public class Fickle {
     */
     private void loadTasks(ArrayList<String[]> welcomeMessages) {
         try {
-            tasks = new TaskList(storage.load());
+            tasks = storage.load();
         } catch (FickleException e) {
             ui.printFickleException(e.getMessage());
             welcomeMessages.add(ui.getOutput());
 
             tasks = new TaskList();
         }
+
+        tasks.enableHistory(UNDO_HISTORY_DEPTH);
     }
 
     /**
@@ -110,6 +156,12 @@ public class Fickle {
     */
     private void executeCommand(String input) throws FickleException {
         Command command = Parser.parse(input);
-        command.execute(tasks, ui, storage);
+
+        try {
+            command.execute(tasks, ui, storage);
+        } finally {
+            // Every change made by the command, even one that then failed to save, is undone together
+            tasks.commitVersion(input.trim());
+        }
     }
 }
@@ -1,5 +1,6 @@
 package fickle.commands;
 
+import fickle.exceptions.FickleException;
 import fickle.storage.Storage;
 import fickle.tasks.TaskList;
 import fickle.ui.Ui;
@@ -9,7 +10,9 @@ import fickle.ui.Ui;
  */
 public class ByeCommand extends Command {
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
+        // Pending saves must reach the disk before the window closes
+        storage.close();
         ui.sayGoodbye();
     }
 
@@ -0,0 +1,47 @@
+package fickle.commands;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import fickle.storage.Storage;
+import fickle.tasks.EventConflict;
+import fickle.tasks.TaskList;
+import fickle.ui.Ui;
+
+/**
+ * Shows the events that overlap each other, in the whole task list or on the days of a date range.
+ */
+public class ConflictsCommand extends Command {
+    // Range of dates to check, or null when checking every event
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    /**
+     * Initialises a command that shows every pair of events that overlap.
+     */
+    public ConflictsCommand() {
+        this(null, null);
+    }
+
+    /**
+     * Initialises a command that shows the pairs of events that overlap on some day of a date range.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range, not before the first.
+     */
+    public ConflictsCommand(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        if (startDate == null) {
+            ui.printEventConflicts(tasks.getEventConflicts());
+            return;
+        }
+
+        ArrayList<EventConflict> conflicts = tasks.getEventConflicts(startDate, endDate);
+        ui.printEventConflicts(startDate, endDate, conflicts);
+    }
+}
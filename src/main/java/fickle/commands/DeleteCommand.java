@@ -1,5 +1,7 @@
 package fickle.commands;
 
+import java.util.ArrayList;
+
 import fickle.exceptions.FickleException;
 import fickle.storage.Storage;
 import fickle.tasks.Task;
@@ -7,10 +9,10 @@ import fickle.tasks.TaskList;
 import fickle.ui.Ui;
 
 /**
- * Deletes a task in the task list.
+ * Deletes one or more tasks in the task list.
  */
 public class DeleteCommand extends Command {
-    private final int taskIndex;
+    private final TaskSelection selection;
 
     /**
      * Initialises a command that delete the task at the given index.
@@ -18,34 +20,45 @@ public class DeleteCommand extends Command {
      * @param taskIndex The index of the task to be deleted, starting from 0.
      */
     public DeleteCommand(int taskIndex) {
-        this.taskIndex = taskIndex;
+        this(TaskSelection.ofIndex(taskIndex));
+    }
+
+    /**
+     * Initialises a command that deletes the selected tasks in one pass over the task list, with a single save.
+     *
+     * @param selection The tasks to be deleted.
+     */
+    public DeleteCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
-        checkTaskIndex(tasks);
+        int[] taskIndexes = selectTasks(tasks);
 
-        Task task = tasks.deleteTask(taskIndex);
+        if (taskIndexes.length == 1) {
+            Task task = tasks.deleteTask(taskIndexes[0]);
 
-        int totalTaskCount = tasks.getSize();
-        ui.printDeletedTask(task.toString(), totalTaskCount);
+            int totalTaskCount = tasks.getSize();
+            ui.printDeletedTask(task.toString(), totalTaskCount);
 
-        storage.overwriteSave(tasks);
+            storage.deleteSave(tasks, task);
+            return;
+        }
+
+        ArrayList<Task> deletedTasks = tasks.deleteTasks(taskIndexes);
+
+        ui.printDeletedTasks(deletedTasks, tasks.getSize());
+
+        storage.deleteSave(tasks, deletedTasks);
     }
 
-    // Checks that tasklist is not empty before deleting and the index is within valid range.
-    private void checkTaskIndex(TaskList tasks) throws FickleException {
+    // Checks that tasklist is not empty before deleting and every selected index is within valid range.
+    private int[] selectTasks(TaskList tasks) throws FickleException {
         if (tasks.getSize() == 0) {
             throw new FickleException("There are no tasks left to delete.", "A Little Happiness");
         }
 
-        if (taskIndex < 0) {
-            throw new FickleException("Task number starts from 1. Please enter a valid number.",
-                                            "Too small, Insignificance");
-        }
-
-        if (taskIndex >= tasks.getSize()) {
-            throw new FickleException("Please enter a task number within the available range.", "Too Much");
-        }
+        return selection.resolve(tasks);
     }
 }
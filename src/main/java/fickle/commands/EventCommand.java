@@ -5,7 +5,6 @@ import java.time.LocalDateTime;
 import fickle.exceptions.FickleException;
 import fickle.storage.Storage;
 import fickle.tasks.Event;
-import fickle.tasks.Task;
 import fickle.tasks.TaskList;
 import fickle.ui.Ui;
 
@@ -34,8 +33,11 @@ public class EventCommand extends Command {
 
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
-        Task task = new Event(taskName, from, to);
-        ui.printAddedTask(tasks.addTask(task), tasks.getSize());
-        storage.appendSave(task);
+        Event event = new Event(taskName, from, to);
+        String addedMessage = tasks.addTask(event);
+
+        // Only warns, as overlapping events are often planned on purpose
+        ui.printAddedEvent(addedMessage, tasks.getSize(), tasks.getOverlappingEvents(event));
+        storage.appendSave(event);
     }
 }
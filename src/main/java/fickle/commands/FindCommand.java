@@ -1,10 +1,13 @@
 package fickle.commands;
 
-import java.util.ArrayList;
+import java.util.List;
 
+import fickle.exceptions.FickleException;
 import fickle.storage.Storage;
 import fickle.tasks.Task;
 import fickle.tasks.TaskList;
+import fickle.tasks.TaskListVersion;
+import fickle.tasks.TaskPage;
 import fickle.ui.Ui;
 
 /**
@@ -13,6 +16,8 @@ import fickle.ui.Ui;
  */
 public class FindCommand extends Command {
     private final String keyword;
+    private final int pageNumber;
+    private final int pageSize;
 
     /**
      * Initialises a command that searches for tasks with the given keyword.
@@ -20,12 +25,33 @@ public class FindCommand extends Command {
      * @param keyword The keyword to search for in task names.
      */
     public FindCommand(String keyword) {
+        this(keyword, 0, 0);
+    }
+
+    /**
+     * Initialises a command that searches for tasks with the given keyword and shows one page of them.
+     *
+     * @param keyword The keyword to search for in task names.
+     * @param pageNumber The page of matching tasks to show, starting from 1, or 0 to show all of them.
+     * @param pageSize The number of tasks on each page.
+     */
+    public FindCommand(String keyword, int pageNumber, int pageSize) {
         this.keyword = keyword;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
-        ArrayList<Task> matchedTasks = tasks.getMatchedTasks(keyword);
-        ui.printMatchedTaskList(keyword, matchedTasks);
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
+        try (TaskListVersion version = tasks.pinVersion()) {
+            List<Task> matchedTasks = version.freeze(tasks.getMatchedTasks(version, keyword));
+
+            if (pageNumber == 0) {
+                ui.printMatchedTaskList(keyword, TaskPage.of(matchedTasks));
+                return;
+            }
+
+            ui.printMatchedTaskList(keyword, TaskPage.of(matchedTasks, pageNumber, pageSize));
+        }
     }
 }
@@ -0,0 +1,37 @@
+package fickle.commands;
+
+import java.util.List;
+
+import fickle.storage.Storage;
+import fickle.tasks.Task;
+import fickle.tasks.TaskList;
+import fickle.tasks.TaskListVersion;
+import fickle.ui.Ui;
+
+/**
+ * Searches for the tasks whose names come closest to containing the keyword, so that a typo in either the keyword
+ * or a task name still finds the task.
+ */
+public class FuzzyFindCommand extends Command {
+    private final String keyword;
+    private final int count;
+
+    /**
+     * Initialises a command that searches for the tasks closest to the given keyword.
+     *
+     * @param keyword The lowercased keyword to search for in task names.
+     * @param count The largest number of tasks to show.
+     */
+    public FuzzyFindCommand(String keyword, int count) {
+        this.keyword = keyword;
+        this.count = count;
+    }
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        try (TaskListVersion version = tasks.pinVersion()) {
+            List<Task> matchedTasks = version.freeze(tasks.getFuzzyMatchedTasks(version, keyword, count));
+            ui.printFuzzyMatchedTaskList(keyword, matchedTasks);
+        }
+    }
+}
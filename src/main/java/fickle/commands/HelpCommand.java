@@ -25,32 +25,60 @@ public class HelpCommand extends Command {
             "deadline [TASK_NAME] /by [DATETIME]"
         }),
         Map.entry("event", new String[] {
-            "Add an event task with a start and end date with optional time." + "(Example DateTime: 21/8/2021 0911)",
+            "Add an event task with a start and end date with optional time, and see which events it overlaps."
+                + "(Example DateTime: 21/8/2021 0911)",
             "event [TASK_NAME] /from [START_DATETIME] /to [END_DATETIME]"
         }),
         Map.entry("delete", new String[] {
-            "Delete a task at the specific index from your list.",
-            "delete [TASK_INDEX]"
+            "Delete the tasks at the given indexes or ranges (Example: 3 7 12 or 1-50), or every done task.",
+            "delete [TASK_INDEX] OR delete [TASK_INDEX] [TASK_INDEX]... OR delete [FIRST]-[LAST] OR delete done"
         }),
         Map.entry("mark", new String[] {
-            "Mark a task at the specific index as done.",
-            "mark [TASK_INDEX]"
+            "Mark the tasks at the given indexes or ranges as done (Example: 3 7 12 or 1-50).",
+            "mark [TASK_INDEX] OR mark [TASK_INDEX] [TASK_INDEX]... OR mark [FIRST]-[LAST]"
         }),
         Map.entry("unmark", new String[] {
-            "Unmark a task at the specific index.",
-            "unmark [TASK_INDEX]"
+            "Unmark the tasks at the given indexes or ranges (Example: 3 7 12 or 1-50), or every done task.",
+            "unmark [TASK_INDEX] OR unmark [TASK_INDEX] [TASK_INDEX]... OR unmark [FIRST]-[LAST] OR unmark done"
         }),
         Map.entry("find", new String[] {
-            "Search for tasks containing the keyword.",
-            "find [KEYWORD]"
+            "Search for tasks containing the keyword, optionally one page at a time (50 tasks per page by default). "
+                + "Start the keyword with ~ to show the 10 closest matches, even with typos.",
+            "find [KEYWORD] OR find [KEYWORD] --page [PAGE] --page-size [SIZE] OR find ~[KEYWORD]"
         }),
         Map.entry("list", new String[] {
-            "View all your current tasks.",
-            "list"
+            "View all your current tasks, or one page of them (50 tasks per page by default).",
+            "list OR list [PAGE] OR list [PAGE] --page-size [SIZE]"
         }),
         Map.entry("schedule", new String[] {
-            "View all tasks scheduled on a date (Example Date: 21/8/2021).",
-            "schedule [DATE]"
+            "View all tasks scheduled on a date, optionally one page at a time, or on each day of a range, "
+                + "this week or this month (Example Date: 21/8/2021).",
+            "schedule [DATE] OR schedule [DATE] --page [PAGE] --page-size [SIZE] OR schedule [START_DATE] [END_DATE] "
+                + "OR schedule week OR schedule month"
+        }),
+        Map.entry("upcoming", new String[] {
+            "View the next deadlines and events that are not done, soonest first (5 unless a number is given).",
+            "upcoming OR upcoming [NUMBER]"
+        }),
+        Map.entry("overdue", new String[] {
+            "View the deadlines that are past due and not done, most overdue first.",
+            "overdue"
+        }),
+        Map.entry("conflicts", new String[] {
+            "View the events that overlap each other, in all your tasks or on the days of a range.",
+            "conflicts OR conflicts [DATE] OR conflicts [START_DATE] [END_DATE] OR conflicts week OR conflicts month"
+        }),
+        Map.entry("undo", new String[] {
+            "Undo the latest command that changed your tasks (up to 100 commands back).",
+            "undo"
+        }),
+        Map.entry("redo", new String[] {
+            "Redo the latest command that was undone, unless your tasks have changed since.",
+            "redo"
+        }),
+        Map.entry("stats", new String[] {
+            "View how many of your tasks are done, in total and by type.",
+            "stats"
         }),
         Map.entry("help", new String[] {
             "Show a help list of all the commands, or for a specific command.",
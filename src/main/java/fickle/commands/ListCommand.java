@@ -1,15 +1,47 @@
 package fickle.commands;
 
+import fickle.exceptions.FickleException;
 import fickle.storage.Storage;
 import fickle.tasks.TaskList;
+import fickle.tasks.TaskListVersion;
+import fickle.tasks.TaskPage;
 import fickle.ui.Ui;
 
 /**
- * Lists all tasks in the task list.
+ * Lists all tasks in the task list, or one page of them.
  */
 public class ListCommand extends Command {
+    private final int pageNumber;
+    private final int pageSize;
+
+    /**
+     * Initialises a command that lists all tasks.
+     */
+    public ListCommand() {
+        this(0, 0);
+    }
+
+    /**
+     * Initialises a command that lists one page of the tasks.
+     *
+     * @param pageNumber The page to list, starting from 1, or 0 to list all tasks.
+     * @param pageSize The number of tasks on each page.
+     */
+    public ListCommand(int pageNumber, int pageSize) {
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+    }
+
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
-        ui.printTaskList(tasks);
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
+        // Pinned so that the list is printed as it was when the command started, even as other changes go on
+        try (TaskListVersion version = tasks.pinVersion()) {
+            if (pageNumber == 0) {
+                ui.printTaskList(TaskPage.of(version.getTasks()));
+                return;
+            }
+
+            ui.printTaskList(TaskPage.of(version.getTasks(), pageNumber, pageSize));
+        }
     }
 }
@@ -1,5 +1,7 @@
 package fickle.commands;
 
+import java.util.ArrayList;
+
 import fickle.exceptions.FickleException;
 import fickle.storage.Storage;
 import fickle.tasks.Task;
@@ -7,10 +9,10 @@ import fickle.tasks.TaskList;
 import fickle.ui.Ui;
 
 /**
- * Marks a task in the task list as done.
+ * Marks one or more tasks in the task list as done.
  */
 public class MarkCommand extends Command {
-    private final int taskIndex;
+    private final TaskSelection selection;
 
     /**
      * Initialises a command that marks the task at the given index as done.
@@ -18,13 +20,54 @@ public class MarkCommand extends Command {
      * @param taskIndex The index of the task to be marked, starting from 0.
      */
     public MarkCommand(int taskIndex) {
-        this.taskIndex = taskIndex;
+        this(TaskSelection.ofIndex(taskIndex));
+    }
+
+    /**
+     * Initialises a command that marks the selected tasks as done, with a single save.
+     *
+     * @param selection The tasks to be marked.
+     */
+    public MarkCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
-        checkTaskIndex(tasks);
+        int[] taskIndexes = selectTasks(tasks);
+
+        if (taskIndexes.length == 1) {
+            markTask(tasks, taskIndexes[0], ui, storage);
+            return;
+        }
+
+        ArrayList<Task> markedTasks = new ArrayList<>();
+        for (int taskIndex : taskIndexes) {
+            Task task = tasks.getTask(taskIndex);
+
+            try {
+                task.markAsDone();
+                markedTasks.add(task);
+            } catch (FickleException e) {
+                // Already marked, so it is left as it is
+            }
+        }
+
+        if (markedTasks.isEmpty()) {
+            throw new FickleException("These tasks are already marked before.", "As It is");
+        }
+
+        ui.printMarkedTasks(markedTasks, taskIndexes.length - markedTasks.size());
+
+        // Show additional message if all tasks are marked
+        if (tasks.isAllMarked()) {
+            ui.printAllTasksMarked();
+        }
+
+        storage.updateSave(tasks, markedTasks);
+    }
 
+    private void markTask(TaskList tasks, int taskIndex, Ui ui, Storage storage) throws FickleException {
         Task task = tasks.getTask(taskIndex);
         task.markAsDone();
 
@@ -35,22 +78,15 @@ public class MarkCommand extends Command {
             ui.printAllTasksMarked();
         }
 
-        storage.overwriteSave(tasks);
+        storage.updateSave(tasks, task);
     }
 
-    // Checks that tasklist is not empty and the index is within valid range.
-    private void checkTaskIndex(TaskList tasks) throws FickleException {
+    // Checks that tasklist is not empty and every selected index is within valid range.
+    private int[] selectTasks(TaskList tasks) throws FickleException {
         if (tasks.getSize() == 0) {
             throw new FickleException("There are no tasks left to mark.", "A Little Happiness");
         }
 
-        if (taskIndex < 0) {
-            throw new FickleException("Task number starts from 1. Please enter a valid number.",
-                                            "Too small, Insignificance");
-        }
-
-        if (taskIndex >= tasks.getSize()) {
-            throw new FickleException("Please enter a task number within the available range.", "Too Much");
-        }
+        return selection.resolve(tasks);
     }
 }
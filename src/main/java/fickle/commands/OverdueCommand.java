@@ -0,0 +1,20 @@
+package fickle.commands;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import fickle.storage.Storage;
+import fickle.tasks.Task;
+import fickle.tasks.TaskList;
+import fickle.ui.Ui;
+
+/**
+ * Shows the deadlines that are past due and not done yet, most overdue first.
+ */
+public class OverdueCommand extends Command {
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ArrayList<Task> overdueTasks = tasks.getOverdueTasks(LocalDateTime.now());
+        ui.printOverdueTaskList(overdueTasks);
+    }
+}
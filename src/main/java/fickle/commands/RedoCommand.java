@@ -0,0 +1,19 @@
+package fickle.commands;
+
+import fickle.exceptions.FickleException;
+import fickle.storage.Storage;
+import fickle.tasks.TaskList;
+import fickle.ui.Ui;
+
+/**
+ * Redoes the latest command that was undone.
+ */
+public class RedoCommand extends Command {
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
+        String description = tasks.redo();
+        ui.printRedoneCommand(description, tasks.getSize());
+
+        storage.overwriteSave(tasks);
+    }
+}
@@ -2,17 +2,27 @@ package fickle.commands;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
+import fickle.exceptions.FickleException;
 import fickle.storage.Storage;
 import fickle.tasks.Task;
 import fickle.tasks.TaskList;
+import fickle.tasks.TaskListVersion;
+import fickle.tasks.TaskPage;
 import fickle.ui.Ui;
 
 /**
- * Searches for all tasks scheduled on a specific date.
+ * Searches for all tasks scheduled on a specific date, or on each day of a date range.
  */
 public class ScheduleCommand extends Command {
     private final LocalDate targetDate;
+    // Last date of the range, or null when searching a single date
+    private final LocalDate endDate;
+    private final int pageNumber;
+    private final int pageSize;
 
     /**
      * Initialises a command that searches for tasks occuring on a specific date.
@@ -20,12 +30,59 @@ public class ScheduleCommand extends Command {
      * @param targetDate The date to view the scheduled tasks for.
      */
     public ScheduleCommand(LocalDate targetDate) {
+        this(targetDate, 0, 0);
+    }
+
+    /**
+     * Initialises a command that searches for tasks occuring on a specific date and shows one page of them.
+     *
+     * @param targetDate The date to view the scheduled tasks for.
+     * @param pageNumber The page of scheduled tasks to show, starting from 1, or 0 to show all of them.
+     * @param pageSize The number of tasks on each page.
+     */
+    public ScheduleCommand(LocalDate targetDate, int pageNumber, int pageSize) {
         this.targetDate = targetDate;
+        this.endDate = null;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Initialises a command that searches for tasks occuring on each day of a date range.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range, not before the first.
+     */
+    public ScheduleCommand(LocalDate startDate, LocalDate endDate) {
+        this.targetDate = startDate;
+        this.endDate = endDate;
+        this.pageNumber = 0;
+        this.pageSize = 0;
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
-        ArrayList<Task> scheduledTasks = tasks.getScheduledOnTasks(targetDate);
-        ui.printScheduledTaskList(targetDate, scheduledTasks);
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
+        try (TaskListVersion version = tasks.pinVersion()) {
+            if (endDate != null) {
+                TreeMap<LocalDate, List<Task>> tasksByDay = new TreeMap<>();
+
+                for (Map.Entry<LocalDate, ArrayList<Task>> day
+                        : tasks.getScheduledBetweenTasks(version, targetDate, endDate).entrySet()) {
+                    tasksByDay.put(day.getKey(), version.freeze(day.getValue()));
+                }
+
+                ui.printScheduledTaskList(targetDate, endDate, tasksByDay);
+                return;
+            }
+
+            List<Task> scheduledTasks = version.freeze(tasks.getScheduledOnTasks(version, targetDate));
+
+            if (pageNumber == 0) {
+                ui.printScheduledTaskList(targetDate, TaskPage.of(scheduledTasks));
+                return;
+            }
+
+            ui.printScheduledTaskList(targetDate, TaskPage.of(scheduledTasks, pageNumber, pageSize));
+        }
     }
 }
@@ -0,0 +1,15 @@
+package fickle.commands;
+
+import fickle.storage.Storage;
+import fickle.tasks.TaskList;
+import fickle.ui.Ui;
+
+/**
+ * Shows the number of tasks in the task list by type and how many of them are done.
+ */
+public class StatsCommand extends Command {
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ui.printStatistics(tasks.getStatistics());
+    }
+}
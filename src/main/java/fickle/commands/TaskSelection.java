@@ -0,0 +1,129 @@
+package fickle.commands;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import fickle.exceptions.FickleException;
+import fickle.tasks.Task;
+import fickle.tasks.TaskList;
+
+/**
+ * Represents the tasks chosen by a mark, unmark or delete command, either by their task numbers and ranges of task
+ * numbers, or as every task that is marked as done.
+ */
+public class TaskSelection {
+    // First and last index of each range, starting from 0, or null for every done task
+    private final List<int[]> ranges;
+
+    private TaskSelection(List<int[]> ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Returns a selection of the single task at the given index.
+     *
+     * @param taskIndex The index of the task, starting from 0.
+     * @return The selection of the task.
+     */
+    public static TaskSelection ofIndex(int taskIndex) {
+        return new TaskSelection(List.of(new int[] { taskIndex, taskIndex }));
+    }
+
+    /**
+     * Returns a selection of the tasks in the given ranges of indexes, which may overlap.
+     *
+     * @param ranges The first and last index of each range, starting from 0.
+     * @return The selection of the tasks in the ranges.
+     */
+    public static TaskSelection ofRanges(List<int[]> ranges) {
+        assert !ranges.isEmpty() : "A selection should have at least one range";
+
+        return new TaskSelection(ranges);
+    }
+
+    /**
+     * Returns a selection of every task that is marked as done when the command runs.
+     *
+     * @return The selection of done tasks.
+     */
+    public static TaskSelection ofDoneTasks() {
+        return new TaskSelection(null);
+    }
+
+    /**
+     * Returns the indexes of the selected tasks in the given task list.
+     *
+     * @param tasks The task list to select from, which must not be empty.
+     * @return The indexes of the selected tasks, in increasing order without repeats.
+     * @throws FickleException If a task number is out of range, or if no task is done for a selection of done tasks.
+     */
+    public int[] resolve(TaskList tasks) throws FickleException {
+        if (ranges == null) {
+            return resolveDoneTasks(tasks);
+        }
+
+        int taskCount = tasks.getSize();
+
+        for (int[] range : ranges) {
+            if (range[0] < 0) {
+                throw new FickleException("Task number starts from 1. Please enter a valid number.",
+                                                "Too small, Insignificance");
+            }
+
+            if (range[1] >= taskCount) {
+                throw new FickleException("Please enter a task number within the available range.", "Too Much");
+            }
+        }
+
+        // Merges overlapping ranges first, so that each index is taken once and in order
+        int[][] sortedRanges = ranges.toArray(new int[0][]);
+        Arrays.sort(sortedRanges, Comparator.comparingInt(range -> range[0]));
+
+        int[] indexes = new int[countMerged(sortedRanges)];
+        int count = 0;
+        int next = 0;
+
+        for (int[] range : sortedRanges) {
+            for (int index = Math.max(range[0], next); index <= range[1]; index++) {
+                indexes[count++] = index;
+            }
+            next = Math.max(next, range[1] + 1);
+        }
+
+        return indexes;
+    }
+
+    private static int[] resolveDoneTasks(TaskList tasks) throws FickleException {
+        List<Task> allTasks = tasks.getSnapshot();
+        int[] indexes = new int[allTasks.size()];
+        int count = 0;
+        int index = 0;
+
+        for (Task task : allTasks) {
+            if (task.isDone()) {
+                indexes[count++] = index;
+            }
+            index++;
+        }
+
+        if (count == 0) {
+            throw new FickleException("There are no tasks marked as done.", "Out of Nothing");
+        }
+
+        return Arrays.copyOf(indexes, count);
+    }
+
+    // Counts the indexes covered by ranges sorted by their first index, counting overlaps once.
+    private static int countMerged(int[][] sortedRanges) {
+        int count = 0;
+        int next = 0;
+
+        for (int[] range : sortedRanges) {
+            count += Math.max(0, range[1] + 1 - Math.max(range[0], next));
+            next = Math.max(next, range[1] + 1);
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,20 @@
+package fickle.commands;
+
+import fickle.exceptions.FickleException;
+import fickle.storage.Storage;
+import fickle.tasks.TaskList;
+import fickle.ui.Ui;
+
+/**
+ * Undoes the latest command that changed the task list.
+ */
+public class UndoCommand extends Command {
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
+        String description = tasks.undo();
+        ui.printUndoneCommand(description, tasks.getSize());
+
+        // Deleted tasks return to the middle of the list, which only a full save can record
+        storage.overwriteSave(tasks);
+    }
+}
@@ -1,5 +1,7 @@
 package fickle.commands;
 
+import java.util.ArrayList;
+
 import fickle.exceptions.FickleException;
 import fickle.storage.Storage;
 import fickle.tasks.Task;
@@ -7,10 +9,10 @@ import fickle.tasks.TaskList;
 import fickle.ui.Ui;
 
 /**
- * Unmarks a task in the task list.
+ * Unmarks one or more tasks in the task list.
  */
 public class UnmarkCommand extends Command {
-    private final int taskIndex;
+    private final TaskSelection selection;
 
     /**
      * Initialises a command that unmarks the task at the given index.
@@ -18,34 +20,63 @@ public class UnmarkCommand extends Command {
      * @param taskIndex The index of the task to be unmarked, starting from 0.
      */
     public UnmarkCommand(int taskIndex) {
-        this.taskIndex = taskIndex;
+        this(TaskSelection.ofIndex(taskIndex));
+    }
+
+    /**
+     * Initialises a command that unmarks the selected tasks, with a single save.
+     *
+     * @param selection The tasks to be unmarked.
+     */
+    public UnmarkCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws FickleException {
-        checkTaskIndex(tasks);
+        int[] taskIndexes = selectTasks(tasks);
+
+        if (taskIndexes.length == 1) {
+            unmarkTask(tasks, taskIndexes[0], ui, storage);
+            return;
+        }
 
+        ArrayList<Task> unmarkedTasks = new ArrayList<>();
+        for (int taskIndex : taskIndexes) {
+            Task task = tasks.getTask(taskIndex);
+
+            try {
+                task.markAsNotDone();
+                unmarkedTasks.add(task);
+            } catch (FickleException e) {
+                // Already unmarked, so it is left as it is
+            }
+        }
+
+        if (unmarkedTasks.isEmpty()) {
+            throw new FickleException("These tasks are already unmarked before.", "As It is");
+        }
+
+        ui.printUnmarkedTasks(unmarkedTasks, taskIndexes.length - unmarkedTasks.size());
+
+        storage.updateSave(tasks, unmarkedTasks);
+    }
+
+    private void unmarkTask(TaskList tasks, int taskIndex, Ui ui, Storage storage) throws FickleException {
         Task task = tasks.getTask(taskIndex);
         task.markAsNotDone();
 
         ui.printUnmarkedTask(task.toString());
 
-        storage.overwriteSave(tasks);
+        storage.updateSave(tasks, task);
     }
 
-    // Checks that tasklist is not empty and the index is within valid range.
-    private void checkTaskIndex(TaskList tasks) throws FickleException {
+    // Checks that tasklist is not empty and every selected index is within valid range.
+    private int[] selectTasks(TaskList tasks) throws FickleException {
         if (tasks.getSize() == 0) {
             throw new FickleException("There are no tasks left to unmark.", "A Little Happiness");
         }
 
-        if (taskIndex < 0) {
-            throw new FickleException("Task number starts from 1. Please enter a valid number.",
-                                            "Too small, Insignificance");
-        }
-
-        if (taskIndex >= tasks.getSize()) {
-            throw new FickleException("Please enter a task number within the available range.", "Too Much");
-        }
+        return selection.resolve(tasks);
     }
 }
@@ -0,0 +1,31 @@
+package fickle.commands;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import fickle.storage.Storage;
+import fickle.tasks.Task;
+import fickle.tasks.TaskList;
+import fickle.ui.Ui;
+
+/**
+ * Shows the deadlines and events that are not done yet, soonest first.
+ */
+public class UpcomingCommand extends Command {
+    private final int count;
+
+    /**
+     * Initialises a command that shows the next deadlines and events.
+     *
+     * @param count The largest number of tasks to show.
+     */
+    public UpcomingCommand(int count) {
+        this.count = count;
+    }
+
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ArrayList<Task> upcomingTasks = tasks.getUpcomingTasks(LocalDateTime.now(), count);
+        ui.printUpcomingTaskList(upcomingTasks);
+    }
+}
@@ -1,23 +1,37 @@
 package fickle.parser;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import fickle.commands.ByeCommand;
 import fickle.commands.Command;
+import fickle.commands.ConflictsCommand;
 import fickle.commands.DeadlineCommand;
 import fickle.commands.DeleteCommand;
 import fickle.commands.EventCommand;
 import fickle.commands.FindCommand;
+import fickle.commands.FuzzyFindCommand;
 import fickle.commands.HelpCommand;
 import fickle.commands.ListCommand;
 import fickle.commands.MarkCommand;
+import fickle.commands.OverdueCommand;
+import fickle.commands.RedoCommand;
 import fickle.commands.ScheduleCommand;
+import fickle.commands.StatsCommand;
+import fickle.commands.TaskSelection;
 import fickle.commands.TodoCommand;
+import fickle.commands.UndoCommand;
 import fickle.commands.UnmarkCommand;
+import fickle.commands.UpcomingCommand;
 import fickle.exceptions.FickleException;
 
 /**
@@ -31,6 +45,12 @@ public class Parser {
                                     .withResolverStyle(ResolverStyle.STRICT);
     private static final DateTimeFormatter INPUT_DATETIME_FORMATTER = DateTimeFormatter.ofPattern("d/M/uuuu HHmm")
                                     .withResolverStyle(ResolverStyle.STRICT);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_SCHEDULE_RANGE_DAYS = 366;
+    private static final int DEFAULT_UPCOMING_COUNT = 5;
+    private static final int DEFAULT_FUZZY_MATCH_COUNT = 10;
+    // A --page or --page-size option at the end of the arguments, with everything before it in the first group
+    private static final Pattern TRAILING_PAGE_OPTION = Pattern.compile("(.*?)\\s*--(page|page-size)\\s+(\\S+)");
 
     /**
      * Parses a input string from the user and returns a corresponding command.
@@ -81,6 +101,24 @@ public class Parser {
         case "help":
             return parseHelp(contextWord);
 
+        case "stats":
+            return parseStats(contextWord);
+
+        case "upcoming":
+            return parseUpcoming(contextWord);
+
+        case "overdue":
+            return parseOverdue(contextWord);
+
+        case "conflicts":
+            return parseConflicts(contextWord);
+
+        case "undo":
+            return parseUndo(contextWord);
+
+        case "redo":
+            return parseRedo(contextWord);
+
         default:
             throw new FickleException("Sorry, I didn't understand that. Try a valid command!", "Going Nowhere");
         }
@@ -114,11 +152,74 @@ public class Parser {
     }
 
     private static Command parseList(String contextWord) throws FickleException {
+        PagedArguments arguments = parsePageOptions(contextWord);
+
+        if (!arguments.rest.isEmpty()) {
+            if (!arguments.rest.matches("\\d+")) {
+                throw new FickleException("The 'list' command only takes a page number.", "Even fickleness has rules");
+            }
+
+            arguments.setPageNumber(parsePageNumber(arguments.rest));
+        }
+
+        if (!arguments.isPaged()) {
+            return new ListCommand();
+        }
+
+        return new ListCommand(arguments.pageNumber, arguments.pageSize);
+    }
+
+    private static Command parseStats(String contextWord) throws FickleException {
         if (!contextWord.isEmpty()) {
-            throw new FickleException("The 'list' command doesn't take any arguments.", "Even fickleness has rules");
+            throw new FickleException("The 'stats' command doesn't take any arguments.", "Even fickleness has rules");
         }
 
-        return new ListCommand();
+        return new StatsCommand();
+    }
+
+    private static Command parseUpcoming(String contextWord) throws FickleException {
+        if (contextWord.isEmpty()) {
+            return new UpcomingCommand(DEFAULT_UPCOMING_COUNT);
+        }
+
+        int count;
+
+        try {
+            count = Integer.parseInt(contextWord);
+        } catch (NumberFormatException e) {
+            count = 0;
+        }
+
+        if (count < 1) {
+            throw new FickleException("Please use a positive whole number for the number of tasks.",
+                                            "Confuses me, Contradiction");
+        }
+
+        return new UpcomingCommand(count);
+    }
+
+    private static Command parseOverdue(String contextWord) throws FickleException {
+        if (!contextWord.isEmpty()) {
+            throw new FickleException("The 'overdue' command doesn't take any arguments.", "Even fickleness has rules");
+        }
+
+        return new OverdueCommand();
+    }
+
+    private static Command parseUndo(String contextWord) throws FickleException {
+        if (!contextWord.isEmpty()) {
+            throw new FickleException("The 'undo' command doesn't take any arguments.", "Even fickleness has rules");
+        }
+
+        return new UndoCommand();
+    }
+
+    private static Command parseRedo(String contextWord) throws FickleException {
+        if (!contextWord.isEmpty()) {
+            throw new FickleException("The 'redo' command doesn't take any arguments.", "Even fickleness has rules");
+        }
+
+        return new RedoCommand();
     }
 
     private static Command parseMark(String contextWord) throws FickleException {
@@ -126,8 +227,14 @@ public class Parser {
             throw new FickleException("Please provide a task number for 'mark' command.", "Out of Nothing");
         }
 
-        int taskIndex = parseTaskIndex(contextWord);
-        return new MarkCommand(taskIndex);
+        // Done tasks are already marked, so "done" is only a selection for unmark and delete
+        if (contextWord.equalsIgnoreCase("done")) {
+            throw new FickleException("Done tasks are already marked. Please give the task numbers to mark.",
+                                            "Even fickleness has rules");
+        }
+
+        TaskSelection selection = parseTaskSelection(contextWord);
+        return new MarkCommand(selection);
     }
 
     private static Command parseUnmark(String contextWord) throws FickleException {
@@ -135,8 +242,8 @@ public class Parser {
             throw new FickleException("Please provide a task number for 'unmark' command.", "Out of Nothing");
         }
 
-        int taskIndex = parseTaskIndex(contextWord);
-        return new UnmarkCommand(taskIndex);
+        TaskSelection selection = parseTaskSelection(contextWord);
+        return new UnmarkCommand(selection);
     }
 
     private static Command parseDelete(String contextWord) throws FickleException {
@@ -144,11 +251,42 @@ public class Parser {
             throw new FickleException("Please provide a task number for 'delete' command.", "Out of Nothing");
         }
 
-        int taskIndex = parseTaskIndex(contextWord);
-        return new DeleteCommand(taskIndex);
+        TaskSelection selection = parseTaskSelection(contextWord);
+        return new DeleteCommand(selection);
+    }
+
+    // Parses the tasks to act on: task numbers and ranges such as "3 7 12" or "1-50", or "done" for every done task.
+    private static TaskSelection parseTaskSelection(String contextWord) throws FickleException {
+        if (contextWord.equalsIgnoreCase("done")) {
+            return TaskSelection.ofDoneTasks();
+        }
+
+        ArrayList<int[]> ranges = new ArrayList<>();
+        for (String argument : contextWord.split("\\s+")) {
+            // A leading minus sign is part of a number, not a range
+            int dashIndex = argument.indexOf('-', 1);
+
+            if (dashIndex < 0) {
+                int index = parseTaskIndex(argument);
+                ranges.add(new int[] { index, index });
+                continue;
+            }
+
+            int firstIndex = parseTaskIndex(argument.substring(0, dashIndex));
+            int lastIndex = parseTaskIndex(argument.substring(dashIndex + 1));
+
+            if (firstIndex > lastIndex) {
+                throw new FickleException("Please give a range from the smaller task number to the larger one.",
+                                                "Confuses me, Contradiction");
+            }
+
+            ranges.add(new int[] { firstIndex, lastIndex });
+        }
+
+        return TaskSelection.ofRanges(ranges);
     }
 
-    // Parses task index from user input
+    // Parses a single task index from user input
     private static int parseTaskIndex(String contextWord) throws FickleException {
         try {
             int index = Integer.parseInt(contextWord) - 1;
@@ -271,21 +409,155 @@ public class Parser {
     }
 
     private static Command parseFind(String contextWord) throws FickleException {
-        if (contextWord.isEmpty()) {
+        PagedArguments arguments = parsePageOptions(contextWord);
+
+        if (arguments.rest.isEmpty()) {
             throw new FickleException("Please provide a keyword for me to search.", "What, Where");
         }
 
-        return new FindCommand(contextWord.toLowerCase());
+        String keyword = arguments.rest.toLowerCase();
+
+        if (keyword.startsWith("~")) {
+            return parseFuzzyFind(keyword.substring(1).trim(), arguments);
+        }
+
+        if (!arguments.isPaged()) {
+            return new FindCommand(keyword);
+        }
+
+        return new FindCommand(keyword, arguments.pageNumber, arguments.pageSize);
+    }
+
+    private static Command parseFuzzyFind(String keyword, PagedArguments arguments) throws FickleException {
+        if (keyword.isEmpty()) {
+            throw new FickleException("Please provide a keyword after '~' for me to search.", "What, Where");
+        }
+
+        if (arguments.isPaged()) {
+            throw new FickleException("Pages are not available for close matches, which are only the best "
+                    + DEFAULT_FUZZY_MATCH_COUNT + ".", "Even fickleness has rules");
+        }
+
+        return new FuzzyFindCommand(keyword, DEFAULT_FUZZY_MATCH_COUNT);
     }
 
     private static Command parseSchedule(String contextWord) throws FickleException {
-        if (contextWord.isEmpty()) {
+        PagedArguments arguments = parsePageOptions(contextWord);
+
+        if (arguments.rest.isEmpty()) {
             throw new FickleException("Please provide a date for me to search.", "What, Where");
         }
 
-        LocalDate date = parseDate(contextWord);
+        String[] dates = arguments.rest.split("\\s+");
+        boolean isSingleDate = dates.length == 1 && !dates[0].equalsIgnoreCase("week")
+                && !dates[0].equalsIgnoreCase("month");
+
+        if (isSingleDate) {
+            LocalDate date = parseDate(dates[0]);
+
+            if (!arguments.isPaged()) {
+                return new ScheduleCommand(date);
+            }
+
+            return new ScheduleCommand(date, arguments.pageNumber, arguments.pageSize);
+        }
 
-        return new ScheduleCommand(date);
+        if (arguments.isPaged()) {
+            throw new FickleException("Pages are only available when viewing the schedule of a single date.",
+                                            "Even fickleness has rules");
+        }
+
+        return parseScheduleRange(dates);
+    }
+
+    private static Command parseScheduleRange(String[] dates) throws FickleException {
+        LocalDate[] range = parseDateRange(dates, "schedule");
+
+        if (ChronoUnit.DAYS.between(range[0], range[1]) >= MAX_SCHEDULE_RANGE_DAYS) {
+            throw new FickleException("Please view at most " + MAX_SCHEDULE_RANGE_DAYS + " days at a time.",
+                                            "Time will Tell");
+        }
+
+        return new ScheduleCommand(range[0], range[1]);
+    }
+
+    private static Command parseConflicts(String contextWord) throws FickleException {
+        if (contextWord.isEmpty()) {
+            return new ConflictsCommand();
+        }
+
+        LocalDate[] range = parseDateRange(contextWord.split("\\s+"), "conflicts");
+        return new ConflictsCommand(range[0], range[1]);
+    }
+
+    // Parses "week" and "month" as the current calendar week and month, or else a single date or a start and an end
+    // date. Returns the first and last date of the range.
+    private static LocalDate[] parseDateRange(String[] dates, String commandWord) throws FickleException {
+        LocalDate today = LocalDate.now();
+        LocalDate startDate;
+        LocalDate endDate;
+
+        if (dates.length == 1 && dates[0].equalsIgnoreCase("week")) {
+            startDate = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            endDate = startDate.plusDays(6);
+        } else if (dates.length == 1 && dates[0].equalsIgnoreCase("month")) {
+            startDate = today.withDayOfMonth(1);
+            endDate = today.with(TemporalAdjusters.lastDayOfMonth());
+        } else if (dates.length == 1) {
+            startDate = parseDate(dates[0]);
+            endDate = startDate;
+        } else if (dates.length == 2) {
+            startDate = parseDate(dates[0]);
+            endDate = parseDate(dates[1]);
+        } else {
+            throw new FickleException("Please give a single date, a start and an end date, 'week' or 'month'.\n"
+                                            + "[Example Usage] " + commandWord + " 21/8/2021 28/8/2021",
+                                            "Time will Tell");
+        }
+
+        if (startDate.isAfter(endDate)) {
+            throw new FickleException("The start date should not be later than the end date.", "Time will Tell");
+        }
+
+        return new LocalDate[] { startDate, endDate };
+    }
+
+    // Takes the --page and --page-size options off the end of the arguments.
+    private static PagedArguments parsePageOptions(String contextWord) throws FickleException {
+        PagedArguments arguments = new PagedArguments(contextWord);
+        Matcher matcher = TRAILING_PAGE_OPTION.matcher(contextWord);
+
+        while (matcher.matches()) {
+            int value = parsePageNumber(matcher.group(3));
+
+            if (matcher.group(2).equals("page")) {
+                arguments.setPageNumber(value);
+            } else {
+                arguments.setPageSize(value);
+            }
+
+            arguments.rest = matcher.group(1);
+            matcher = TRAILING_PAGE_OPTION.matcher(arguments.rest);
+        }
+
+        return arguments;
+    }
+
+    private static int parsePageNumber(String numberString) throws FickleException {
+        int number;
+
+        try {
+            number = Integer.parseInt(numberString);
+        } catch (NumberFormatException e) {
+            number = 0;
+        }
+
+        if (number < 1) {
+            throw new FickleException("Please use a positive whole number for the page and page size.",
+                                            "Confuses me, Contradiction");
+        }
+
+        return number;
     }
 
     private static LocalDate parseDate(String dateString) throws FickleException {
@@ -304,4 +576,30 @@ public class Parser {
     private static Command parseHelp(String contextWord) {
         return new HelpCommand(contextWord);
     }
+
+    // Arguments of a command that may show one page of tasks. Giving either a page or a page size shows a page,
+    // and the other one then takes its default.
+    private static class PagedArguments {
+        private String rest;
+        private int pageNumber;
+        private int pageSize;
+
+        PagedArguments(String rest) {
+            this.rest = rest;
+        }
+
+        void setPageNumber(int pageNumber) {
+            this.pageNumber = pageNumber;
+            this.pageSize = (pageSize == 0) ? DEFAULT_PAGE_SIZE : pageSize;
+        }
+
+        void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+            this.pageNumber = (pageNumber == 0) ? 1 : pageNumber;
+        }
+
+        boolean isPaged() {
+            return pageNumber != 0;
+        }
+    }
 }
@@ -0,0 +1,229 @@
+package fickle.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import fickle.exceptions.FickleException;
+import fickle.tasks.Deadline;
+import fickle.tasks.Event;
+import fickle.tasks.Task;
+import fickle.tasks.Todo;
+
+/**
+ * Reads and writes the binary save file format.
+ * The file starts with the magic bytes "FKLB" and a version byte, followed by one record per task:
+ * a type tag, a done flag, a length-prefixed UTF-8 name and the task's dates as epoch minutes.
+ */
+final class BinaryFormat {
+    private static final byte[] MAGIC = { 'F', 'K', 'L', 'B' };
+    private static final byte VERSION = 1;
+    private static final int MAX_NAME_BYTES = 1024 * 1024;
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Returns true if the file starts with the binary format's magic header.
+     *
+     * @param file The save file to check.
+     * @return true if the file is in binary format, else false.
+     */
+    static boolean isBinaryFile(File file) {
+        byte[] header = new byte[MAGIC.length];
+
+        try (FileInputStream in = new FileInputStream(file)) {
+            return in.readNBytes(header, 0, header.length) == header.length && Arrays.equals(header, MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes a complete binary save file containing the given tasks.
+     *
+     * @param tasks The tasks to be written.
+     * @param file The file to write to.
+     * @throws IOException If fails to write to the file.
+     */
+    static void writeTasks(List<Task> tasks, File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            writeHeader(out);
+
+            for (Task task : tasks) {
+                writeTask(out, task);
+            }
+        }
+    }
+
+    /**
+     * Appends a single task record, writing the header first if the file is new.
+     *
+     * @param task The task to be appended.
+     * @param file The file to append to.
+     * @throws IOException If fails to write to the file.
+     */
+    static void appendTask(Task task, File file) throws IOException {
+        boolean isNewFile = !file.exists() || file.length() == 0;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            if (isNewFile) {
+                writeHeader(out);
+            }
+
+            writeTask(out, task);
+        }
+    }
+
+    /**
+     * Reads every record of a binary save file.
+     * Reading stops at the first record that cannot be framed, since later records cannot be located.
+     *
+     * @param file The file to read.
+     * @return The parsed records in file order.
+     * @throws FickleException If the file cannot be read or has an unsupported version.
+     */
+    static List<ParsedLine> readTasks(File file) throws FickleException {
+        List<ParsedLine> parsedRecords = new ArrayList<>();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            in.skipNBytes(MAGIC.length);
+
+            if (in.readByte() != VERSION) {
+                throw new FickleException("Unsupported save file version.");
+            }
+
+            readRecords(in, parsedRecords);
+        } catch (IOException e) {
+            throw new FickleException("Couldn't load tasks from file.");
+        }
+
+        return parsedRecords;
+    }
+
+    private static void readRecords(DataInputStream in, List<ParsedLine> parsedRecords) throws IOException {
+        int recordNumber = 0;
+
+        while (true) {
+            int typeTag = in.read();
+
+            if (typeTag < 0) {
+                return;
+            }
+
+            recordNumber++;
+            String description = "Record " + recordNumber;
+
+            try {
+                Task task = readTask(in, (char) typeTag);
+                String line = description + ": " + task.toStorageString();
+
+                if (isEventOutOfOrder(task)) {
+                    parsedRecords.add(new ParsedLine(line, null, "Event start time is after the end time"));
+                } else {
+                    parsedRecords.add(new ParsedLine(line, task, null));
+                }
+            } catch (DateTimeException e) {
+                // The record was read in full, so the next record can still be located
+                parsedRecords.add(new ParsedLine(description, null, "Invalid Date/Time"));
+            } catch (EOFException e) {
+                parsedRecords.add(new ParsedLine(description, null, "Truncated Record"));
+                return;
+            } catch (FickleException e) {
+                // The length of the record is unknown, so the remaining records cannot be located
+                parsedRecords.add(new ParsedLine(description, null, e.getMessage()));
+                return;
+            }
+        }
+    }
+
+    // Reads the rest of a record after its type tag.
+    private static Task readTask(DataInputStream in, char typeTag) throws IOException, FickleException {
+        if (typeTag != 'T' && typeTag != 'D' && typeTag != 'E') {
+            throw new FickleException("Unknown Task Type");
+        }
+
+        byte doneStatus = in.readByte();
+        if (doneStatus != 0 && doneStatus != 1) {
+            throw new FickleException("Invalid Done Status");
+        }
+
+        int nameLength = in.readInt();
+        if (nameLength <= 0 || nameLength > MAX_NAME_BYTES) {
+            throw new FickleException("Invalid Name Length");
+        }
+
+        byte[] nameBytes = new byte[nameLength];
+        in.readFully(nameBytes);
+        String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (typeTag) {
+        case 'D':
+            task = new Deadline(name, in.readLong());
+            break;
+
+        case 'E':
+            long from = in.readLong();
+            long to = in.readLong();
+            task = new Event(name, from, to);
+            break;
+
+        default:
+            task = new Todo(name);
+            break;
+        }
+
+        task.setLoadedStatus(doneStatus == 1);
+
+        return task;
+    }
+
+    private static boolean isEventOutOfOrder(Task task) {
+        if (!(task instanceof Event)) {
+            return false;
+        }
+
+        Event event = (Event) task;
+        return event.getFromMinute() > event.getToMinute();
+    }
+
+    private static void writeHeader(DataOutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        byte[] name = task.getName().getBytes(StandardCharsets.UTF_8);
+
+        if (task instanceof Deadline) {
+            out.writeByte('D');
+        } else if (task instanceof Event) {
+            out.writeByte('E');
+        } else {
+            out.writeByte('T');
+        }
+
+        out.writeByte(task.isDone() ? 1 : 0);
+        out.writeInt(name.length);
+        out.write(name);
+
+        if (task instanceof Deadline) {
+            out.writeLong(((Deadline) task).getByMinute());
+        } else if (task instanceof Event) {
+            out.writeLong(((Event) task).getFromMinute());
+            out.writeLong(((Event) task).getToMinute());
+        }
+    }
+}
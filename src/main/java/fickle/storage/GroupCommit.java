@@ -0,0 +1,228 @@
+package fickle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flushes appended data to disk, coalescing the syncs of writes that arrive within a time window.
+ * With a window of zero, every write is synced right away. Otherwise the writes made during a window join the
+ * same batch, and a single fsync per file covers the whole batch once the window ends. Each writer waits on its
+ * batch, so that it only returns once its data is on disk, and learns of any failure of that fsync.
+ */
+class GroupCommit {
+    private final long windowMillis;
+    private ScheduledExecutorService scheduler;
+    // The batch of the current window, or null if no write is waiting for its window to end
+    private Batch openBatch;
+    // The most recent batch that is open or being synced, or null once it is done
+    private Batch latestBatch;
+
+    /**
+     * Constructor for GroupCommit.
+     *
+     * @param windowMillis The time in milliseconds that writes may wait for a shared fsync.
+     */
+    GroupCommit(long windowMillis) {
+        assert windowMillis >= 0 : "windowMillis should not be negative";
+
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Requests that the data written to the file so far is synced to disk.
+     * Call {@link Batch#await()} on the returned batch after releasing any lock that other writers need,
+     * so that they can join the same window.
+     *
+     * @param file The file that was written to.
+     * @return The batch whose fsync covers the write.
+     * @throws IOException If the window is zero and fails to sync the file.
+     */
+    synchronized Batch requestSync(File file) throws IOException {
+        if (windowMillis == 0) {
+            syncFile(file);
+            return Batch.SYNCED;
+        }
+
+        if (openBatch == null) {
+            Batch batch = new Batch();
+            openBatch = batch;
+            latestBatch = batch;
+            getScheduler().schedule(() -> syncBatch(batch), windowMillis, TimeUnit.MILLISECONDS);
+        }
+
+        openBatch.files.add(file);
+        return openBatch;
+    }
+
+    /**
+     * Syncs every file with pending writes right away, instead of at the end of the current window.
+     *
+     * @throws IOException If fails to sync a file.
+     */
+    void flush() throws IOException {
+        Batch batch;
+
+        synchronized (this) {
+            batch = latestBatch;
+        }
+
+        if (batch == null) {
+            return;
+        }
+
+        // Batches are synced in order on the scheduler thread, so once the latest is done, so are the ones before it
+        getScheduler().execute(() -> syncBatch(batch));
+        batch.await();
+    }
+
+    // Closes the window of the batch, so that later writes join a new one, then syncs its files once.
+    private void syncBatch(Batch batch) {
+        synchronized (this) {
+            if (openBatch != batch) {
+                // Already closed by a flush
+                return;
+            }
+            openBatch = null;
+        }
+
+        IOException failure = null;
+
+        for (File file : batch.files) {
+            try {
+                syncFile(file);
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+
+        batch.complete(failure);
+
+        synchronized (this) {
+            if (latestBatch == batch) {
+                latestBatch = null;
+            }
+        }
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fickle-group-commit");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return scheduler;
+    }
+
+    /**
+     * Forces the contents of a file to disk.
+     * A file that no longer exists was replaced by a complete, already synced save file and is skipped.
+     *
+     * @param file The file to sync.
+     * @throws IOException If fails to sync the file.
+     */
+    static void syncFile(File file) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Forces a directory entry change such as a rename to disk, where the platform supports it.
+     *
+     * @param directory The directory containing the changed entry.
+     */
+    static void syncDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms, such as Windows, cannot open a directory for syncing
+        }
+    }
+
+    /**
+     * Atomically replaces the target file with the source file and forces the rename to disk,
+     * so that a crash leaves either the old or the new file in place.
+     *
+     * @param source The complete, already synced file to move.
+     * @param target The file to be replaced.
+     * @throws IOException If fails to move the file.
+     */
+    static void moveIntoPlace(File source, File target) throws IOException {
+        Path sourcePath = source.toPath();
+        Path targetPath = target.toPath();
+
+        try {
+            Files.move(sourcePath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        syncDirectory(targetPath.toAbsolutePath().getParent().toFile());
+    }
+
+    /**
+     * Represents the writes of one window, which share a single fsync per file.
+     */
+    static class Batch {
+        // Returned for writes that were synced before returning
+        private static final Batch SYNCED = new Batch(true);
+
+        // Only changed while the batch is the open one, under the lock of its GroupCommit
+        private final LinkedHashSet<File> files;
+        private boolean isDone;
+        private IOException failure;
+
+        private Batch() {
+            this(false);
+        }
+
+        private Batch(boolean isDone) {
+            this.files = new LinkedHashSet<>();
+            this.isDone = isDone;
+        }
+
+        /**
+         * Waits until the files of the batch have been synced.
+         *
+         * @throws IOException If fails to sync a file of the batch, or if interrupted while waiting.
+         */
+        synchronized void await() throws IOException {
+            while (!isDone) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the group commit");
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private synchronized void complete(IOException failure) {
+            this.failure = failure;
+            this.isDone = true;
+            notifyAll();
+        }
+    }
+}
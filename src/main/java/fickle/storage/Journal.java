@@ -0,0 +1,172 @@
+package fickle.storage;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Append-only journal of task mutations kept next to the save file.
+ * Each line is a record "OP | PAYLOAD", where the payload is the full storage string for an added task
+ * and the task's identity key for mark, unmark and delete records.
+ */
+class Journal {
+    static final String ADD = "A";
+    static final String MARK = "M";
+    static final String UNMARK = "U";
+    static final String DELETE = "D";
+
+    private static final String SEPARATOR = " | ";
+
+    private final File liveFile;
+    private final File compactingFile;
+
+    /**
+     * Constructor for Journal.
+     *
+     * @param filePath The path of the save file that this journal belongs to.
+     */
+    Journal(String filePath) {
+        this.liveFile = new File(filePath + ".journal");
+        this.compactingFile = new File(filePath + ".journal.compacting");
+    }
+
+    /**
+     * Appends a single record to the live journal file.
+     *
+     * @param op The operation of the record.
+     * @param payload The storage string or identity key of the task.
+     * @throws IOException If fails to write to the journal file.
+     */
+    void append(String op, String payload) throws IOException {
+        FileWriter fw = new FileWriter(liveFile, true);
+        fw.write(op + SEPARATOR + payload);
+        fw.write(System.lineSeparator());
+        fw.close();
+    }
+
+    /**
+     * Appends records of the same operation for several tasks to the live journal file in a single write.
+     *
+     * @param op The operation of the records.
+     * @param payloads The storage strings or identity keys of the tasks.
+     * @throws IOException If fails to write to the journal file.
+     */
+    void appendAll(String op, List<String> payloads) throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        for (String payload : payloads) {
+            sb.append(op).append(SEPARATOR).append(payload).append(System.lineSeparator());
+        }
+
+        FileWriter fw = new FileWriter(liveFile, true);
+        fw.write(sb.toString());
+        fw.close();
+    }
+
+    /**
+     * Returns the file that new records are appended to.
+     *
+     * @return The live journal file.
+     */
+    File getLiveFile() {
+        return liveFile;
+    }
+
+    /**
+     * Returns true if there are records that have not been folded into the save file.
+     *
+     * @return true if a journal file exists, else false.
+     */
+    boolean hasRecords() {
+        return liveFile.exists() || compactingFile.exists();
+    }
+
+    /**
+     * Reads all pending records, oldest first.
+     * Records of an interrupted compaction are returned before those of the live journal.
+     *
+     * @return An ArrayList of records.
+     * @throws IOException If a journal file exists but cannot be read.
+     */
+    ArrayList<String> readRecords() throws IOException {
+        ArrayList<String> records = new ArrayList<>();
+
+        readRecords(compactingFile, records);
+        readRecords(liveFile, records);
+
+        return records;
+    }
+
+    private void readRecords(File file, ArrayList<String> records) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (Scanner scanner = new Scanner(file)) {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine().trim();
+
+                if (!line.isEmpty()) {
+                    records.add(line);
+                }
+            }
+        } catch (FileNotFoundException e) {
+            throw new IOException("Couldn't read journal file.", e);
+        }
+    }
+
+    /**
+     * Moves the live journal aside so that new records go to a fresh file while it is being compacted.
+     *
+     * @return true if there were records to compact and the journal was moved, else false.
+     */
+    boolean beginCompaction() {
+        if (compactingFile.exists() || !liveFile.exists()) {
+            return false;
+        }
+
+        return liveFile.renameTo(compactingFile);
+    }
+
+    /**
+     * Discards the records moved aside by {@link #beginCompaction()} once the save file contains them.
+     */
+    void finishCompaction() {
+        compactingFile.delete();
+    }
+
+    /**
+     * Discards every pending record, after the save file has been fully rewritten.
+     */
+    void clear() {
+        compactingFile.delete();
+        liveFile.delete();
+    }
+
+    /**
+     * Splits a record into its operation and payload.
+     *
+     * @param record The record read from the journal.
+     * @return A string array of [op, payload], or null if the record is corrupted.
+     */
+    static String[] splitRecord(String record) {
+        int separatorIndex = record.indexOf(SEPARATOR);
+
+        if (separatorIndex < 0) {
+            return null;
+        }
+
+        String op = record.substring(0, separatorIndex).trim();
+        String payload = record.substring(separatorIndex + SEPARATOR.length()).trim();
+
+        if (payload.isEmpty()) {
+            return null;
+        }
+
+        return new String[] { op, payload };
+    }
+}
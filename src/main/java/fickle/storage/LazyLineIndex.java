@@ -0,0 +1,222 @@
+package fickle.storage;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import fickle.exceptions.FickleException;
+import fickle.tasks.LazyTaskSource;
+import fickle.tasks.Task;
+import fickle.tasks.TaskList;
+
+/**
+ * Indexes the lines of a text save file so that each task is only constructed when it is first requested.
+ * Every line is checked by {@link TaskLineParser#checkLine} and for duplicates while indexing, so the indexed
+ * lines are exactly the tasks that a full load keeps, in the same order. Only the position of each line is kept,
+ * and lines are read back from the file when their tasks are constructed. The file stays open until every task
+ * has been constructed, which happens before the save file is next rewritten, as a rewrite needs every task.
+ */
+class LazyLineIndex implements LazyTaskSource {
+    private static final int INITIAL_CAPACITY = 1024;
+    // Tasks are mostly constructed in file order, so lines are read back a block at a time
+    private static final int READ_BLOCK_BYTES = 64 * 1024;
+
+    private final File file;
+    private long[] lineStarts;
+    private int[] lineLengths;
+    private int size;
+
+    private FileChannel channel;
+    private ByteBuffer block;
+    private long blockStart;
+    private int loadedCount;
+
+    private LazyLineIndex(File file) {
+        this.file = file;
+        this.lineStarts = new long[INITIAL_CAPACITY];
+        this.lineLengths = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Indexes every valid, non-duplicated line of the save file.
+     *
+     * @param file The text save file to index.
+     * @param corruptedWarnings The list that warnings for corrupted and duplicated lines are added to.
+     * @return The index of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    static LazyLineIndex build(File file, List<String> corruptedWarnings) throws IOException {
+        LazyLineIndex index = new LazyLineIndex(file);
+        index.indexLines(corruptedWarnings);
+
+        return index;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Constructs the task on an indexed line, reading the line back from the file.
+     *
+     * @param index The position of the task in the source.
+     * @return A new Task object.
+     * @throws UncheckedIOException If the file can no longer be read.
+     */
+    @Override
+    public Task loadTask(int index) {
+        String line;
+
+        try {
+            line = readLine(index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't read an indexed line from " + file, e);
+        }
+
+        try {
+            return TaskLineParser.parseTask(line);
+        } catch (FickleException e) {
+            throw new IllegalStateException("Indexed line could not be parsed: " + line, e);
+        }
+    }
+
+    // Reads the file once, keeping the position of each line that a full load would keep.
+    private void indexLines(List<String> corruptedWarnings) throws IOException {
+        // Only needed while indexing, as the task list keeps its own identity keys once tasks are added
+        HashSet<String> identityKeys = new HashSet<>();
+        byte[] lineBytes = new byte[256];
+        int lineLength = 0;
+        long lineStart = 0;
+        long position = 0;
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            int b;
+            while ((b = in.read()) >= 0) {
+                position++;
+
+                if (b != '\n') {
+                    if (lineLength == lineBytes.length) {
+                        lineBytes = Arrays.copyOf(lineBytes, lineLength * 2);
+                    }
+                    lineBytes[lineLength++] = (byte) b;
+                    continue;
+                }
+
+                indexLine(lineBytes, lineLength, lineStart, identityKeys, corruptedWarnings);
+                lineLength = 0;
+                lineStart = position;
+            }
+        }
+
+        indexLine(lineBytes, lineLength, lineStart, identityKeys, corruptedWarnings);
+    }
+
+    private void indexLine(byte[] lineBytes, int length, long lineStart, HashSet<String> identityKeys,
+                                    List<String> corruptedWarnings) {
+        int start = trimStart(lineBytes, 0, length);
+        int end = trimEnd(lineBytes, start, length);
+
+        if (start == end) {
+            return;
+        }
+
+        String line = new String(lineBytes, start, end - start, StandardCharsets.UTF_8);
+
+        try {
+            if (!identityKeys.add(TaskLineParser.checkLine(line))) {
+                // Rare, so the task is only constructed for the message
+                corruptedWarnings.add("[" + TaskList.getDuplicateMessage(TaskLineParser.parseTask(line)) + "] " + line);
+                return;
+            }
+        } catch (FickleException e) {
+            corruptedWarnings.add("[" + e.getMessage() + "] " + line);
+            return;
+        }
+
+        addLine(lineStart + start, end - start);
+    }
+
+    private void addLine(long start, int length) {
+        if (size == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, size * 2);
+            lineLengths = Arrays.copyOf(lineLengths, size * 2);
+        }
+
+        lineStarts[size] = start;
+        lineLengths[size] = length;
+        size++;
+    }
+
+    // Each task is constructed once, so the file is closed once every line has been read back.
+    private String readLine(int index) throws IOException {
+        long start = lineStarts[index];
+        int length = lineLengths[index];
+
+        if (block == null || start < blockStart || start + length > blockStart + block.limit()) {
+            readBlock(start, length);
+        }
+
+        String line = new String(block.array(), (int) (start - blockStart), length, StandardCharsets.UTF_8);
+
+        if (++loadedCount == size) {
+            channel.close();
+            channel = null;
+            block = null;
+        }
+
+        return line;
+    }
+
+    private void readBlock(long start, int length) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        }
+
+        if (block == null || block.capacity() < length) {
+            block = ByteBuffer.allocate(Math.max(READ_BLOCK_BYTES, length));
+        }
+
+        block.clear();
+        blockStart = start;
+
+        while (block.hasRemaining()) {
+            if (channel.read(block, blockStart + block.position()) < 0) {
+                break;
+            }
+        }
+        block.flip();
+
+        if (block.limit() < length) {
+            throw new IOException("Save file was shortened after it was indexed.");
+        }
+    }
+
+    // Bytes up to ' ' are exactly the characters that String.trim() removes, and never occur inside
+    // a multi-byte UTF-8 character.
+    private static int trimStart(byte[] bytes, int start, int end) {
+        while (start < end && (bytes[start] & 0xff) <= ' ') {
+            start++;
+        }
+
+        return start;
+    }
+
+    private static int trimEnd(byte[] bytes, int start, int end) {
+        while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+
+        return end;
+    }
+}
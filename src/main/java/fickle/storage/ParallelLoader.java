@@ -0,0 +1,113 @@
+package fickle.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import fickle.exceptions.FickleException;
+
+/**
+ * Loads a text save file by reading it into memory in one pass and parsing newline-aligned chunks in parallel.
+ * Results are returned in file order so that duplicates and corrupted lines are reported as if read sequentially.
+ * The file is read into a heap buffer rather than memory-mapped, as a mapping stays open until it is garbage
+ * collected and would stop the save file from being replaced on platforms such as Windows.
+ */
+class ParallelLoader {
+    private static final int MIN_CHUNK_BYTES = 256 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ParallelLoader() {
+    }
+
+    /**
+     * Parses every non-empty line of the file.
+     *
+     * @param file The save file to load.
+     * @return The parsed lines in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    static List<ParsedLine> load(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Save file is too large to load.");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    // The file shrank since its size was taken
+                    break;
+                }
+            }
+            buffer.flip();
+
+            List<int[]> chunks = splitIntoChunks(buffer, buffer.limit());
+
+            // Parallel streams run on the common fork-join pool and keep the encounter order when collected
+            return chunks.parallelStream()
+                                            .map(chunk -> parseChunk(buffer.slice(chunk[0], chunk[1] - chunk[0])))
+                                            .flatMap(List::stream)
+                                            .toList();
+        }
+    }
+
+    // Returns [start, end) byte ranges that each end right after a newline, or at the end of the file.
+    private static List<int[]> splitIntoChunks(ByteBuffer buffer, int size) {
+        int maxChunks = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        int chunkCount = Math.max(1, Math.min(maxChunks, size / MIN_CHUNK_BYTES));
+        int targetChunkBytes = size / chunkCount;
+
+        List<int[]> chunks = new ArrayList<>(chunkCount);
+        int start = 0;
+
+        while (start < size) {
+            int end = Math.min(size, start + targetChunkBytes);
+
+            // '\n' never occurs inside a multi-byte UTF-8 character, so it is a safe place to split
+            while (end < size && buffer.get(end - 1) != '\n') {
+                end++;
+            }
+
+            chunks.add(new int[] { start, end });
+            start = end;
+        }
+
+        return chunks;
+    }
+
+    private static List<ParsedLine> parseChunk(ByteBuffer chunk) {
+        String text = StandardCharsets.UTF_8.decode(chunk).toString();
+        List<ParsedLine> parsedLines = new ArrayList<>();
+
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = text.length();
+            }
+
+            String line = text.substring(start, end).trim();
+            start = end + 1;
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            try {
+                parsedLines.add(new ParsedLine(line, TaskLineParser.parseTask(line), null));
+            } catch (FickleException e) {
+                parsedLines.add(new ParsedLine(line, null, e.getMessage()));
+            }
+        }
+
+        return parsedLines;
+    }
+}
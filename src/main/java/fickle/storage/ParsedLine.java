@@ -0,0 +1,37 @@
+package fickle.storage;
+
+import fickle.tasks.Task;
+
+/**
+ * Represents one entry read from the save file together with its parse result.
+ */
+class ParsedLine {
+    private final String line;
+    private final Task task;
+    private final String error;
+
+    /**
+     * Constructor for ParsedLine.
+     *
+     * @param line The line as read from the file, or a description of the entry for binary files.
+     * @param task The parsed task, or null if the entry is corrupted.
+     * @param error The reason the entry is corrupted, or null if it was parsed.
+     */
+    ParsedLine(String line, Task task, String error) {
+        this.line = line;
+        this.task = task;
+        this.error = error;
+    }
+
+    String getLine() {
+        return line;
+    }
+
+    Task getTask() {
+        return task;
+    }
+
+    String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,12 @@
+package fickle.storage;
+
+/**
+ * Represents the formats that the save file can be written in.
+ */
+public enum SaveFormat {
+    /** Human-readable lines such as "D | 0 | return book | 2021-08-21 1800". */
+    TEXT,
+
+    /** Compact records behind a magic header, with dates stored as epoch minutes. */
+    BINARY
+}
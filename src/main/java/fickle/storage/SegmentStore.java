@@ -0,0 +1,370 @@
+package fickle.storage;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import fickle.exceptions.FickleException;
+import fickle.tasks.Deadline;
+import fickle.tasks.Event;
+import fickle.tasks.Task;
+
+/**
+ * Stores tasks in a directory of segment files next to the save file, one per month of each deadline's due date
+ * or event's start date and one for all todos, listed in a small manifest.
+ * Each line is "SEQUENCE | STORAGE STRING", where the sequence number records the task's position in the list,
+ * so that segments can be loaded in parallel and only the segments whose tasks changed need to be rewritten.
+ * The caller's thread prepares every write, while the writes themselves may run on the writer thread.
+ */
+class SegmentStore {
+    private static final String TODO_SEGMENT = "todo";
+    private static final DateTimeFormatter SEGMENT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String SEPARATOR = " | ";
+    private static final String SEGMENT_EXTENSION = ".txt";
+
+    private final File directory;
+    private final File manifestFile;
+    private final TreeSet<String> segmentNames;
+    // Sequence number of each saved task by identity key, which is unique within a task list
+    private HashMap<String, Long> sequenceNumbers;
+    private long nextSequenceNumber;
+
+    /**
+     * Constructor for SegmentStore.
+     *
+     * @param filePath The path of the save file that the segments replace.
+     */
+    SegmentStore(String filePath) {
+        this.directory = new File(filePath + ".segments");
+        this.manifestFile = new File(directory, "manifest" + SEGMENT_EXTENSION);
+        this.segmentNames = new TreeSet<>();
+        this.sequenceNumbers = new HashMap<>();
+    }
+
+    /**
+     * Returns true if the segmented layout has been written.
+     *
+     * @return true if the manifest exists, else false.
+     */
+    boolean exists() {
+        return manifestFile.exists();
+    }
+
+    /**
+     * Returns the name of the segment that a task is stored in.
+     *
+     * @param task The task to be stored.
+     * @return The month of the task's date as yyyy-MM, or the todo segment.
+     */
+    static String getSegmentName(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByDate().format(SEGMENT_FORMAT);
+        }
+
+        if (task instanceof Event) {
+            return ((Event) task).getFromDate().format(SEGMENT_FORMAT);
+        }
+
+        return TODO_SEGMENT;
+    }
+
+    /**
+     * Reads every segment listed in the manifest in parallel.
+     *
+     * @return The parsed lines of all segments, in the order of their tasks in the list.
+     * @throws IOException If the manifest or a segment cannot be read.
+     */
+    List<ParsedLine> load() throws IOException {
+        segmentNames.clear();
+        sequenceNumbers = new HashMap<>();
+        nextSequenceNumber = 0;
+
+        for (String line : Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                segmentNames.add(line.trim());
+            }
+        }
+
+        List<SequencedLine> lines = new ArrayList<>();
+        try {
+            for (List<SequencedLine> segmentLines : segmentNames.parallelStream().map(this::readSegment).toList()) {
+                lines.addAll(segmentLines);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // Stable, so that corrupted lines stay next to the line before them
+        lines.sort(Comparator.comparingLong(line -> line.sequenceNumber));
+
+        List<ParsedLine> parsedLines = new ArrayList<>(lines.size());
+        for (SequencedLine line : lines) {
+            Task task = line.parsedLine.getTask();
+
+            if (task != null) {
+                sequenceNumbers.putIfAbsent(task.getIdentityKey(), line.sequenceNumber);
+                nextSequenceNumber = Math.max(nextSequenceNumber, line.sequenceNumber + 1);
+            }
+            parsedLines.add(line.parsedLine);
+        }
+
+        return parsedLines;
+    }
+
+    // Runs on the common fork-join pool. A segment listed in the manifest but never written is empty.
+    private List<SequencedLine> readSegment(String segmentName) {
+        File file = getSegmentFile(segmentName);
+        List<SequencedLine> lines = new ArrayList<>();
+
+        if (!file.exists()) {
+            return lines;
+        }
+
+        List<String> rawLines;
+        try {
+            rawLines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long lastSequenceNumber = 0;
+        for (String rawLine : rawLines) {
+            String line = rawLine.trim();
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            int separatorIndex = line.indexOf(SEPARATOR);
+            try {
+                lastSequenceNumber = Long.parseLong(line.substring(0, Math.max(separatorIndex, 0)).trim());
+                String storageString = line.substring(separatorIndex + SEPARATOR.length()).trim();
+
+                Task task = TaskLineParser.parseTask(storageString);
+                lines.add(new SequencedLine(lastSequenceNumber, new ParsedLine(line, task, null)));
+            } catch (NumberFormatException e) {
+                ParsedLine parsedLine = new ParsedLine(line, null, "Invalid Sequence Number");
+                lines.add(new SequencedLine(lastSequenceNumber, parsedLine));
+            } catch (FickleException e) {
+                lines.add(new SequencedLine(lastSequenceNumber, new ParsedLine(line, null, e.getMessage())));
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * Returns the line that stores the task, assigning it the next sequence number if it has none yet.
+     *
+     * @param task The task to be stored.
+     * @return The segment line of the task.
+     */
+    String formatLine(Task task) {
+        Long sequenceNumber = sequenceNumbers.get(task.getIdentityKey());
+
+        if (sequenceNumber == null) {
+            sequenceNumber = nextSequenceNumber++;
+            sequenceNumbers.put(task.getIdentityKey(), sequenceNumber);
+        }
+
+        return sequenceNumber + SEPARATOR + task.toStorageString();
+    }
+
+    /**
+     * Forgets the sequence number of a deleted task.
+     *
+     * @param task The task that was deleted.
+     */
+    void forget(Task task) {
+        sequenceNumbers.remove(task.getIdentityKey());
+    }
+
+    /**
+     * Builds the contents of a segment from the tasks in the list that belong to it.
+     *
+     * @param segmentName The name of the segment.
+     * @param allTasks Every task in the list, in list order.
+     * @return The contents of the segment, empty if no task belongs to it.
+     */
+    String buildSegment(String segmentName, List<Task> allTasks) {
+        StringBuilder sb = new StringBuilder();
+
+        for (Task task : allTasks) {
+            if (getSegmentName(task).equals(segmentName)) {
+                sb.append(formatLine(task)).append(System.lineSeparator());
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Builds the contents of several segments in a single pass over the tasks in the list.
+     *
+     * @param segmentNames The names of the segments.
+     * @param allTasks Every task in the list, in list order.
+     * @return The contents of each segment by name, empty if no task belongs to it.
+     */
+    LinkedHashMap<String, String> buildSegments(Set<String> segmentNames, List<Task> allTasks) {
+        LinkedHashMap<String, StringBuilder> builders = new LinkedHashMap<>();
+        for (String segmentName : segmentNames) {
+            builders.put(segmentName, new StringBuilder());
+        }
+
+        for (Task task : allTasks) {
+            StringBuilder sb = builders.get(getSegmentName(task));
+
+            if (sb != null) {
+                sb.append(formatLine(task)).append(System.lineSeparator());
+            }
+        }
+
+        LinkedHashMap<String, String> segments = new LinkedHashMap<>();
+        builders.forEach((segmentName, sb) -> segments.put(segmentName, sb.toString()));
+
+        return segments;
+    }
+
+    /**
+     * Builds the contents of every segment from all tasks, renumbering the tasks in list order.
+     * Segments that no longer hold any task are mapped to empty contents.
+     *
+     * @param allTasks Every task in the list, in list order.
+     * @return The contents of each segment by name.
+     */
+    LinkedHashMap<String, String> buildAllSegments(List<Task> allTasks) {
+        LinkedHashMap<String, StringBuilder> builders = new LinkedHashMap<>();
+        sequenceNumbers = new HashMap<>();
+        nextSequenceNumber = 0;
+
+        for (Task task : allTasks) {
+            StringBuilder sb = builders.computeIfAbsent(getSegmentName(task), name -> new StringBuilder());
+            sb.append(formatLine(task)).append(System.lineSeparator());
+        }
+
+        LinkedHashMap<String, String> segments = new LinkedHashMap<>();
+        for (String segmentName : segmentNames) {
+            segments.put(segmentName, "");
+        }
+        builders.forEach((segmentName, sb) -> segments.put(segmentName, sb.toString()));
+
+        return segments;
+    }
+
+    /**
+     * Records whether a segment holds any task.
+     *
+     * @param segmentName The name of the segment.
+     * @param hasTasks True if the segment holds at least one task.
+     * @return The new contents of the manifest, or null if the set of segments is unchanged.
+     */
+    String updateManifest(String segmentName, boolean hasTasks) {
+        boolean isChanged = hasTasks ? segmentNames.add(segmentName) : segmentNames.remove(segmentName);
+
+        if (!isChanged) {
+            return null;
+        }
+
+        return String.join(System.lineSeparator(), segmentNames) + System.lineSeparator();
+    }
+
+    /**
+     * Returns true if the segment is listed in the manifest.
+     *
+     * @param segmentName The name of the segment.
+     * @return true if the segment holds tasks, else false.
+     */
+    boolean hasSegment(String segmentName) {
+        return segmentNames.contains(segmentName);
+    }
+
+    /**
+     * Writes the new contents of segments, deleting those that are empty.
+     * A changed manifest is written first, so that a new segment is never left out of it.
+     *
+     * @param segments The contents of each segment to be written, by name.
+     * @param manifest The new contents of the manifest, or null if it is unchanged.
+     * @throws IOException If fails to write a file.
+     */
+    void writeSegments(Map<String, String> segments, String manifest) throws IOException {
+        directory.mkdirs();
+
+        if (manifest != null) {
+            replaceFile(manifestFile, manifest);
+        }
+
+        for (Map.Entry<String, String> segment : segments.entrySet()) {
+            if (segment.getValue().isEmpty()) {
+                getSegmentFile(segment.getKey()).delete();
+            } else {
+                replaceFile(getSegmentFile(segment.getKey()), segment.getValue());
+            }
+        }
+    }
+
+    /**
+     * Appends a line to an existing segment.
+     *
+     * @param segmentName The name of the segment.
+     * @param line The line to be appended.
+     * @return The segment file that was written to.
+     * @throws IOException If fails to write to the segment file.
+     */
+    File appendToSegment(String segmentName, String line) throws IOException {
+        File file = getSegmentFile(segmentName);
+
+        FileWriter fw = new FileWriter(file, StandardCharsets.UTF_8, true);
+        fw.write(line);
+        fw.write(System.lineSeparator());
+        fw.close();
+
+        return file;
+    }
+
+    /**
+     * Deletes the manifest and every segment, after the tasks have been moved to a single save file.
+     */
+    void deleteAll() {
+        for (String segmentName : segmentNames) {
+            getSegmentFile(segmentName).delete();
+        }
+
+        manifestFile.delete();
+        directory.delete();
+        segmentNames.clear();
+    }
+
+    private void replaceFile(File file, String contents) throws IOException {
+        File tempFile = new File(file.getPath() + ".tmp");
+
+        Files.writeString(tempFile.toPath(), contents, StandardCharsets.UTF_8);
+        GroupCommit.syncFile(tempFile);
+        GroupCommit.moveIntoPlace(tempFile, file);
+    }
+
+    private File getSegmentFile(String segmentName) {
+        return new File(directory, segmentName + SEGMENT_EXTENSION);
+    }
+
+    private static class SequencedLine {
+        private final long sequenceNumber;
+        private final ParsedLine parsedLine;
+
+        SequencedLine(long sequenceNumber, ParsedLine parsedLine) {
+            this.sequenceNumber = sequenceNumber;
+            this.parsedLine = parsedLine;
+        }
+    }
+}
@@ -4,28 +4,44 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.time.format.ResolverStyle;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import fickle.exceptions.FickleException;
-import fickle.tasks.Deadline;
-import fickle.tasks.Event;
 import fickle.tasks.Task;
 import fickle.tasks.TaskList;
-import fickle.tasks.Todo;
+import fickle.tasks.TaskListVersion;
 
 /**
  * Handles saving and loading of tasks to and from a file.
  */
 public class Storage {
-    private static final DateTimeFormatter LOAD_DATETIME_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd HHmm")
-                                    .withResolverStyle(ResolverStyle.STRICT);
+    // Journal is compacted once it holds this many records and at least half as many records as tasks
+    private static final int JOURNAL_MIN_RECORDS = 1000;
+    private static final double JOURNAL_COMPACTION_RATIO = 0.5;
+    // Smaller save files load faster with a plain Scanner than with mapping and thread hand-offs
+    private static final long PARALLEL_LOAD_MIN_BYTES = 1024 * 1024;
+
     private final String filePath;
     private ArrayList<String> corruptedWarnings;
+    private SaveFormat saveFormat;
+    private Journal journal;
+    private SegmentStore segmentStore;
+    private GroupCommit groupCommit;
+    private WriteBehindWriter writeBehindWriter;
+    private Consumer<String> writeFailureListener;
+    private ExecutorService compactionExecutor;
+    private boolean isLazyLoadEnabled;
+    private volatile boolean isCompacting;
+    private int journalRecordCount;
+    private int saveGeneration;
 
     /**
      * Constructor for Storage.
@@ -37,6 +53,96 @@ public class Storage {
 
         this.filePath = filePath;
         corruptedWarnings = new ArrayList<String>();
+        saveFormat = SaveFormat.TEXT;
+        groupCommit = new GroupCommit(0);
+    }
+
+    /**
+     * Sets the group commit window for appended tasks and journal records.
+     * With a window of zero, every append is synced to disk before the save returns.
+     * Otherwise appends made within the window share a single fsync, issued at most windowMillis later,
+     * and each append waits for that fsync before the save returns.
+     * Full saves are always written to a temporary file, synced, and atomically moved over the save file.
+     *
+     * @param windowMillis The group commit window in milliseconds.
+     */
+    public void setGroupCommitWindow(long windowMillis) {
+        assert windowMillis >= 0 : "windowMillis should not be negative";
+
+        groupCommit = new GroupCommit(windowMillis);
+    }
+
+    /**
+     * Sets the format that the save file is written in.
+     * An existing save file in the other format is migrated the next time tasks are loaded.
+     *
+     * @param saveFormat The format to write the save file in.
+     */
+    public void setSaveFormat(SaveFormat saveFormat) {
+        assert saveFormat != null : "saveFormat should not be null";
+
+        this.saveFormat = saveFormat;
+    }
+
+    /**
+     * Enables write-behind mode.
+     * In write-behind mode, saves return immediately and are written in order by a dedicated writer thread.
+     * Failed writes are passed to the write failure listener. Call {@link #close()} to write all pending saves.
+     */
+    public void enableWriteBehind() {
+        if (writeBehindWriter == null) {
+            writeBehindWriter = new WriteBehindWriter(writeFailureListener);
+        }
+    }
+
+    /**
+     * Sets the listener that receives the message of each save that fails on the writer thread.
+     * Without a listener, such failures are thrown by the next save instead.
+     *
+     * @param writeFailureListener The listener, called on the writer thread.
+     */
+    public void setWriteFailureListener(Consumer<String> writeFailureListener) {
+        this.writeFailureListener = writeFailureListener;
+
+        if (writeBehindWriter != null) {
+            writeBehindWriter.setFailureListener(writeFailureListener);
+        }
+    }
+
+    /**
+     * Enables or disables journal mode.
+     * In journal mode, every change is appended to a small journal file instead of rewriting the save file,
+     * and the journal is compacted into the save file in the background once it grows large.
+     *
+     * @param isEnabled True to enable journal mode.
+     */
+    public void setJournalEnabled(boolean isEnabled) {
+        journal = isEnabled ? new Journal(filePath) : null;
+    }
+
+    /**
+     * Enables or disables the segmented layout.
+     * In the segmented layout, tasks are stored in one file per month of their date plus one for todos,
+     * so that loading reads the segments in parallel and each change only rewrites the segment it touches.
+     * The layout takes precedence over journal mode, the binary format and lazy loading, which apply to the
+     * single save file. Tasks are moved between the save file and the segments the next time they are loaded.
+     *
+     * @param isEnabled True to enable the segmented layout.
+     */
+    public void setSegmentedLayoutEnabled(boolean isEnabled) {
+        segmentStore = isEnabled ? new SegmentStore(filePath) : null;
+    }
+
+    /**
+     * Enables or disables lazy loading.
+     * With lazy loading, loading only indexes the lines of a text save file, and each task is constructed
+     * when first accessed or by a background thread. Binary save files, and save files with pending journal
+     * records to replay, are still loaded in full.
+     *
+     * @param isEnabled True to enable lazy loading.
+     */
+    public void setLazyLoadEnabled(boolean isEnabled) {
+        this.isLazyLoadEnabled = isEnabled;
     }
 
     /**
@@ -59,19 +165,86 @@ public class Storage {
     public TaskList load() throws FickleException {
         checkAndCreateFolder();
         corruptedWarnings.clear();
+        journalRecordCount = 0;
+
+        if (segmentStore != null && segmentStore.exists()) {
+            return addParsedLines(loadSegments(segmentStore));
+        }
 
         File file = new File(filePath);
         TaskList tasks = new TaskList();
 
-        if (!file.exists()) {
-            return tasks;
+        if (file.exists()) {
+            boolean isBinaryFile = BinaryFormat.isBinaryFile(file);
+            boolean hasJournalRecords = journal != null && journal.hasRecords();
+
+            if (isBinaryFile) {
+                tasks = addParsedLines(BinaryFormat.readTasks(file));
+            } else if (isLazyLoadEnabled && segmentStore == null && saveFormat == SaveFormat.TEXT
+                                            && !hasJournalRecords) {
+                return loadSaveFileLazily(file);
+            } else {
+                tasks = loadSaveFile(file);
+            }
+
+            if (segmentStore == null && isBinaryFile != (saveFormat == SaveFormat.BINARY)) {
+                // Migrates the save file to the selected format
+                writeSnapshot(tasks.getSnapshot());
+            }
+        } else if (segmentStore == null) {
+            tasks = moveFromSegments();
+        }
+
+        if (journal != null) {
+            tasks = replayJournal(tasks);
+        }
+
+        if (segmentStore != null && file.exists()) {
+            moveToSegments(tasks);
+        }
+
+        return tasks;
+    }
+
+    private List<ParsedLine> loadSegments(SegmentStore segments) throws FickleException {
+        try {
+            return segments.load();
+        } catch (IOException e) {
+            throw new FickleException("Couldn't load tasks from file.");
+        }
+    }
+
+    // Moves the tasks of the single save file into segments, then removes the save file.
+    private void moveToSegments(TaskList tasks) throws FickleException {
+        writeAllSegments(tasks.getSnapshot());
+        new File(filePath).delete();
+    }
+
+    // Moves the tasks of a segmented layout, if there is one, back into a single save file.
+    private TaskList moveFromSegments() throws FickleException {
+        SegmentStore segments = new SegmentStore(filePath);
+
+        if (!segments.exists()) {
+            return new TaskList();
+        }
+
+        TaskList tasks = addParsedLines(loadSegments(segments));
+        writeSnapshot(tasks.getSnapshot());
+        segments.deleteAll();
+
+        return tasks;
+    }
+
+    private TaskList loadSaveFile(File file) throws FickleException {
+        if (file.length() >= PARALLEL_LOAD_MIN_BYTES) {
+            return loadSaveFileInParallel(file);
         }
 
         Scanner scanner = null;
         try {
             scanner = new Scanner(file);
 
-            tasks = parseTasksFromScanner(scanner);
+            return parseTasksFromScanner(scanner);
         } catch (FileNotFoundException e) {
             throw new FickleException("Couldn't load tasks from file.");
         } finally {
@@ -79,10 +252,130 @@ public class Storage {
                 scanner.close();
             }
         }
+    }
+
+    // Large save files are read in one pass and parsed in chunks across all cores.
+    private TaskList loadSaveFileInParallel(File file) throws FickleException {
+        List<ParsedLine> parsedLines;
+        try {
+            parsedLines = ParallelLoader.load(file);
+        } catch (IOException e) {
+            throw new FickleException("Couldn't load tasks from file.");
+        }
+
+        return addParsedLines(parsedLines);
+    }
+
+    // Only indexes the save file, leaving the tasks to be constructed by the TaskList.
+    private TaskList loadSaveFileLazily(File file) throws FickleException {
+        try {
+            return new TaskList(LazyLineIndex.build(file, corruptedWarnings));
+        } catch (IOException e) {
+            throw new FickleException("Couldn't load tasks from file.");
+        }
+    }
+
+    // Collects the parsed tasks in file order, reporting corrupted and duplicated entries.
+    private TaskList addParsedLines(List<ParsedLine> parsedLines) {
+        TaskList tasks = new TaskList();
+
+        for (ParsedLine parsedLine : parsedLines) {
+            if (parsedLine.getTask() == null) {
+                corruptedWarnings.add("[" + parsedLine.getError() + "] " + parsedLine.getLine());
+                continue;
+            }
+
+            addLoadedTask(tasks, parsedLine.getTask(), parsedLine.getLine());
+        }
+
+        return tasks;
+    }
+
+    // Applies the journal records on top of the tasks loaded from the save file.
+    private TaskList replayJournal(TaskList loadedTasks) throws FickleException {
+        ArrayList<String> records;
+        try {
+            records = journal.readRecords();
+        } catch (IOException e) {
+            throw new FickleException("Couldn't load tasks from journal.");
+        }
+
+        if (records.isEmpty()) {
+            return loadedTasks;
+        }
+
+        // Keyed by identity so that each record is applied in constant time, in insertion order
+        LinkedHashMap<String, Task> taskMap = new LinkedHashMap<>();
+        for (Task task : loadedTasks.getSnapshot()) {
+            taskMap.put(task.getIdentityKey(), task);
+        }
+
+        for (String record : records) {
+            try {
+                applyRecord(taskMap, record);
+            } catch (FickleException e) {
+                corruptedWarnings.add("[" + e.getMessage() + "] " + record);
+            }
+        }
+
+        TaskList tasks = new TaskList();
+        for (Task task : taskMap.values()) {
+            try {
+                tasks.addTask(task);
+            } catch (FickleException e) {
+                assert false : "Replayed tasks are unique by identity key";
+            }
+        }
+
+        // Folds the replayed records into the save file so that the journal starts empty
+        writeSnapshot(tasks.getSnapshot());
+        journal.clear();
 
         return tasks;
     }
 
+    // Applies a single journal record. Records are idempotent, so replaying one twice is harmless. A journal left
+    // by a compaction that stopped after replacing the save file is replayed on top of its own changes, where the
+    // task of a delete, or of a mark on a task deleted later, is already gone, so such records are skipped.
+    private void applyRecord(LinkedHashMap<String, Task> taskMap, String record) throws FickleException {
+        String[] parts = Journal.splitRecord(record);
+
+        if (parts == null) {
+            throw new FickleException("Invalid Journal Record");
+        }
+
+        String op = parts[0];
+        String payload = parts[1];
+
+        switch (op) {
+        case Journal.ADD:
+            Task addedTask = TaskLineParser.parseTask(payload);
+            taskMap.putIfAbsent(addedTask.getIdentityKey(), addedTask);
+            break;
+
+        case Journal.MARK:
+        case Journal.UNMARK:
+            Task task = taskMap.get(payload);
+            boolean isDone = op.equals(Journal.MARK);
+
+            if (task != null && task.isDone() != isDone) {
+                if (isDone) {
+                    task.markAsDone();
+                } else {
+                    task.markAsNotDone();
+                }
+            }
+            break;
+
+        case Journal.DELETE:
+            taskMap.remove(payload);
+            break;
+
+        default:
+            throw new FickleException("Unknown Journal Operation");
+        }
+    }
+
     // Parses tasks from scanner one by one.
     private TaskList parseTasksFromScanner(Scanner sc) {
         TaskList tasks = new TaskList();
@@ -95,8 +388,8 @@ public class Storage {
             }
 
             try {
-                Task task = parseTask(line);
-                tasks.addTask(task);
+                Task task = TaskLineParser.parseTask(line);
+                addLoadedTask(tasks, task, line);
             } catch (FickleException e) {
                 corruptedWarnings.add("[" + e.getMessage() + "] " + line);
             }
@@ -105,29 +398,149 @@ public class Storage {
         return tasks;
     }
 
+    // Adds a parsed task, reporting its line as corrupted if it duplicates an earlier one.
+    private void addLoadedTask(TaskList tasks, Task task, String line) {
+        try {
+            tasks.addTask(task);
+        } catch (FickleException e) {
+            corruptedWarnings.add("[" + e.getMessage() + "] " + line);
+        }
+    }
+
     /**
      * Overwrites the save file with the list of tasks.
-     * Triggers this method with commands such as Mark, Unmark, or Delete.
+     * Discards the journal, since the save file now holds every change.
      *
      * @param tasks The list of tasks to be saved.
      * @throws FickleException If fails to write to the saveFile.
      */
     public void overwriteSave(TaskList tasks) throws FickleException {
-        try {
-            FileWriter fw = new FileWriter(filePath);
-            ArrayList<Task> allTasks = tasks.getAllTasks();
+        // Pinned so that the tasks are written as they are now, even if marked while the write waits its turn
+        TaskListVersion version = tasks.pinVersion();
+        List<Task> allTasks = version.getTasks();
 
-            assert allTasks != null : "The new tasklist to overwrite should not be null";
+        assert allTasks != null : "The new tasklist to overwrite should not be null";
 
-            for (Task task : allTasks) {
-                fw.write(task.toStorageString());
-                fw.write(System.lineSeparator());
+        if (segmentStore != null) {
+            try {
+                // Not coalesced like overwrites of the save file, as each job may write different segments
+                submit(prepareAllSegments(allTasks), false);
+            } finally {
+                version.close();
             }
+            return;
+        }
 
-            fw.close();
-        } catch (IOException e) {
-            throw new FickleException("Couldn't save tasks to file.");
+        journalRecordCount = 0;
+
+        try {
+            submit(unpinAfter(version, () -> writeOverwrite(allTasks)), true);
+        } catch (FickleException e) {
+            version.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Saves a change to the completion status of a task.
+     * Triggers this method with commands such as Mark or Unmark.
+     *
+     * @param tasks The list of tasks containing the changed task.
+     * @param task The task that was marked or unmarked.
+     * @throws FickleException If fails to write to the saveFile.
+     */
+    public void updateSave(TaskList tasks, Task task) throws FickleException {
+        if (segmentStore != null) {
+            submitSegment(SegmentStore.getSegmentName(task), tasks);
+            return;
+        }
+
+        if (journal == null) {
+            overwriteSave(tasks);
+            return;
+        }
+
+        String op = task.isDone() ? Journal.MARK : Journal.UNMARK;
+        submitJournalRecord(op, task.getIdentityKey(), tasks);
+    }
+
+    /**
+     * Saves the deletion of a task.
+     * Triggers this method with commands such as Delete.
+     *
+     * @param tasks The list of tasks after the deletion.
+     * @param task The task that was deleted.
+     * @throws FickleException If fails to write to the saveFile.
+     */
+    public void deleteSave(TaskList tasks, Task task) throws FickleException {
+        if (segmentStore != null) {
+            segmentStore.forget(task);
+            submitSegment(SegmentStore.getSegmentName(task), tasks);
+            return;
         }
+
+        if (journal == null) {
+            overwriteSave(tasks);
+            return;
+        }
+
+        submitJournalRecord(Journal.DELETE, task.getIdentityKey(), tasks);
+    }
+
+    /**
+     * Saves the changes to the completion status of several tasks as a single save.
+     * Triggers this method with commands such as Mark or Unmark on several tasks.
+     *
+     * @param tasks The list of tasks containing the changed tasks.
+     * @param changedTasks The tasks that were marked or unmarked.
+     * @throws FickleException If fails to write to the saveFile.
+     */
+    public void updateSave(TaskList tasks, List<Task> changedTasks) throws FickleException {
+        if (segmentStore != null) {
+            submitSegments(changedTasks, tasks);
+            return;
+        }
+
+        if (journal == null) {
+            overwriteSave(tasks);
+            return;
+        }
+
+        ArrayList<String> markedKeys = new ArrayList<>();
+        ArrayList<String> unmarkedKeys = new ArrayList<>();
+        for (Task task : changedTasks) {
+            (task.isDone() ? markedKeys : unmarkedKeys).add(task.getIdentityKey());
+        }
+
+        submitJournalRecords(Map.of(Journal.MARK, markedKeys, Journal.UNMARK, unmarkedKeys), tasks);
+    }
+
+    /**
+     * Saves the deletion of several tasks as a single save.
+     * Triggers this method with commands such as Delete on several tasks.
+     *
+     * @param tasks The list of tasks after the deletion.
+     * @param deletedTasks The tasks that were deleted.
+     * @throws FickleException If fails to write to the saveFile.
+     */
+    public void deleteSave(TaskList tasks, List<Task> deletedTasks) throws FickleException {
+        if (segmentStore != null) {
+            deletedTasks.forEach(segmentStore::forget);
+            submitSegments(deletedTasks, tasks);
+            return;
+        }
+
+        if (journal == null) {
+            overwriteSave(tasks);
+            return;
+        }
+
+        ArrayList<String> deletedKeys = new ArrayList<>();
+        for (Task task : deletedTasks) {
+            deletedKeys.add(task.getIdentityKey());
+        }
+
+        submitJournalRecords(Map.of(Journal.DELETE, deletedKeys), tasks);
     }
 
     /**
@@ -140,136 +553,365 @@ public class Storage {
     public void appendSave(Task task) throws FickleException {
         assert task != null : "Task to be added in storage file should not be null";
 
-        try {
-            FileWriter fw = new FileWriter(filePath, true);
-            fw.write(task.toStorageString());
-            fw.write(System.lineSeparator());
-            fw.close();
-        } catch (IOException e) {
-            throw new FickleException("Couldn't append tasks to file.");
+        if (segmentStore != null) {
+            submitSegmentAppend(task);
+            return;
         }
+
+        if (journal != null) {
+            submitJournalRecord(Journal.ADD, task.toStorageString(), null);
+            return;
+        }
+
+        submitAppend(() -> appendToSaveFile(task), "Couldn't append tasks to file.");
     }
 
-    // Creates a folder if it does not exist. Otherwise, the folder remains unchanged.
-    private void checkAndCreateFolder() {
-        File file = new File(filePath);
-        File parent = file.getParentFile();
+    /**
+     * Waits until every pending save has been written and synced to disk.
+     *
+     * @throws FickleException If a pending save fails.
+     */
+    public void flush() throws FickleException {
+        if (writeBehindWriter != null) {
+            writeBehindWriter.flush();
+        }
 
-        if (parent != null) {
-            parent.mkdirs();
+        try {
+            groupCommit.flush();
+        } catch (IOException e) {
+            throw new FickleException("Couldn't save tasks to file.");
         }
     }
 
     /**
-     * Parses a line from the storage file into a Task object.
+     * Writes every pending save and stops the writer thread.
+     * Later saves are written directly.
      *
-     * @param line The line from the storage file.
-     * @return A Task object.
-     * @throws FickleException If the line from storage file is corrupted.
+     * @throws FickleException If a pending save fails.
      */
-    private Task parseTask(String line) throws FickleException {
-        assert line != null && !line.isEmpty() : "Storage line should not be null nor empty";
+    public void close() throws FickleException {
+        if (writeBehindWriter != null) {
+            WriteBehindWriter writer = writeBehindWriter;
+            writeBehindWriter = null;
+            writer.close();
+        }
 
-        String[] saveStringsParts = checkAndSplitLine(line);
+        flush();
+    }
 
-        String taskType = saveStringsParts[0].trim();
-        String doneStatus = saveStringsParts[1].trim();
-        String name = saveStringsParts[2].trim();
+    // Runs the job directly, or hands it to the writer thread in write-behind mode.
+    private void submit(WriteBehindWriter.Job job, boolean isOverwrite) throws FickleException {
+        if (writeBehindWriter == null) {
+            job.run();
+        } else {
+            writeBehindWriter.submit(job, isOverwrite);
+        }
+    }
 
-        Task task;
+    // Runs an append and waits for its group commit after the lock is released, so that other appends can join
+    // the window. In write-behind mode the writer thread waits only once the jobs queued behind it have run,
+    // so that they join the same window too.
+    private void submitAppend(Append append, String failureMessage) throws FickleException {
+        WriteBehindWriter writer = writeBehindWriter;
 
-        switch (taskType) {
-        case "T":
-            task = parseTodo(name);
-            break;
+        if (writer != null) {
+            writer.submit(() -> writer.deferSync(append.run(), failureMessage), false);
+            return;
+        }
 
-        case "D":
-            task = parseDeadline(name, saveStringsParts);
-            break;
+        try {
+            append.run().await();
+        } catch (IOException e) {
+            throw new FickleException(failureMessage);
+        }
+    }
 
-        case "E":
-            task = parseEvent(name, saveStringsParts);
-            break;
+    // Queues a journal record and, if the journal has grown too large, a compaction right behind it.
+    private void submitJournalRecord(String op, String payload, TaskList tasks) throws FickleException {
+        submitAppend(() -> appendRecord(op, payload), "Couldn't save tasks to journal.");
+        journalRecordCount++;
 
-        default:
-            throw new FickleException("Unknown Task Type");
+        submitCompactionIfDue(tasks);
+    }
+
+    // Queues the records of several tasks as a single write, and a compaction behind them if it is due.
+    private void submitJournalRecords(Map<String, List<String>> payloadsByOp, TaskList tasks) throws FickleException {
+        submitAppend(() -> appendRecords(payloadsByOp), "Couldn't save tasks to journal.");
+
+        for (List<String> payloads : payloadsByOp.values()) {
+            journalRecordCount += payloads.size();
+        }
 
+        submitCompactionIfDue(tasks);
+    }
+
+    // The version is pinned here, on the caller's thread, so that it matches the records queued before it.
+    private void submitCompactionIfDue(TaskList tasks) throws FickleException {
+        if (tasks != null && isCompactionDue(tasks.getSize())) {
+            TaskListVersion version = tasks.pinVersion();
+
+            journalRecordCount = 0;
+            isCompacting = true;
+
+            try {
+                submit(() -> startCompaction(version), false);
+            } catch (FickleException e) {
+                version.close();
+                throw e;
+            }
         }
+    }
+
+    // Segment contents are built here, on the caller's thread, so that they match the saves queued before them.
+    private void submitSegment(String segmentName, TaskList tasks) throws FickleException {
+        String contents = segmentStore.buildSegment(segmentName, tasks.getSnapshot());
+        String manifest = segmentStore.updateManifest(segmentName, !contents.isEmpty());
+
+        submit(() -> writeSegments(Map.of(segmentName, contents), manifest), false);
+    }
 
-        if (doneStatus.equals("1")) {
-            task.markAsDone();
+    // Rewrites every segment holding one of the changed tasks, all in one job.
+    private void submitSegments(List<Task> changedTasks, TaskList tasks) throws FickleException {
+        TreeSet<String> segmentNames = new TreeSet<>();
+        for (Task task : changedTasks) {
+            segmentNames.add(SegmentStore.getSegmentName(task));
         }
 
-        return task;
+        Map<String, String> segments = segmentStore.buildSegments(segmentNames, tasks.getSnapshot());
+        String manifest = updateManifest(segments);
+        submit(() -> writeSegments(segments, manifest), false);
     }
 
-    // Checks a storage line and splits it.
-    private String[] checkAndSplitLine(String line) throws FickleException {
-        String[] parts = line.split(" \\| ");
+    private void submitSegmentAppend(Task task) throws FickleException {
+        String segmentName = SegmentStore.getSegmentName(task);
+        String line = segmentStore.formatLine(task);
 
-        if (parts.length < 3) {
-            throw new FickleException("Insufficient Fields");
+        if (segmentStore.hasSegment(segmentName)) {
+            submitAppend(() -> appendToSegment(segmentName, line), "Couldn't append tasks to file.");
+            return;
         }
 
-        String doneStatus = parts[1].trim();
+        // A new segment is written whole, replacing any file left behind when it was last emptied
+        String manifest = segmentStore.updateManifest(segmentName, true);
+        String contents = line + System.lineSeparator();
+        submit(() -> writeSegments(Map.of(segmentName, contents), manifest), false);
+    }
+
+    private void writeAllSegments(List<Task> allTasks) throws FickleException {
+        prepareAllSegments(allTasks).run();
+    }
+
+    // Returns a job that unpins the version it writes once it has run or was replaced by a later overwrite.
+    private static WriteBehindWriter.Job unpinAfter(TaskListVersion version, WriteBehindWriter.Job job) {
+        return new WriteBehindWriter.Job() {
+            @Override
+            public void run() throws FickleException {
+                try {
+                    job.run();
+                } finally {
+                    version.close();
+                }
+            }
+
+            @Override
+            public void discard() {
+                version.close();
+            }
+        };
+    }
+
+    // Builds every segment on the caller's thread and returns the job that writes them.
+    private WriteBehindWriter.Job prepareAllSegments(List<Task> allTasks) {
+        Map<String, String> segments = segmentStore.buildAllSegments(allTasks);
+        String manifest = updateManifest(segments);
+        return () -> writeSegments(segments, manifest);
+    }
+
+    // Lists the segments that now hold tasks in the manifest, returning the new manifest or null if it is unchanged.
+    private String updateManifest(Map<String, String> segments) {
+        String manifest = null;
 
-        if (!doneStatus.equals("0") && !doneStatus.equals("1")) {
-            throw new FickleException("Invalid Done Status");
+        for (Map.Entry<String, String> segment : segments.entrySet()) {
+            String changedManifest = segmentStore.updateManifest(segment.getKey(), !segment.getValue().isEmpty());
+            manifest = changedManifest != null ? changedManifest : manifest;
         }
 
-        return parts;
+        return manifest;
     }
 
-    private Task parseTodo(String name) {
-        return new Todo(name);
+    private boolean isCompactionDue(int taskCount) {
+        return !isCompacting && journalRecordCount >= JOURNAL_MIN_RECORDS
+                                        && journalRecordCount >= taskCount * JOURNAL_COMPACTION_RATIO;
     }
 
-    private Task parseDeadline(String name, String[] saveStringsParts) throws FickleException {
-        if (saveStringsParts.length < 4) {
-            throw new FickleException("Insufficient Fields for Deadline");
+    private synchronized void writeOverwrite(List<Task> allTasks) throws FickleException {
+        writeSnapshot(allTasks);
+        saveGeneration++;
+
+        if (journal != null) {
+            journal.clear();
         }
+    }
+
+    private synchronized GroupCommit.Batch appendToSaveFile(Task task) throws FickleException {
+        File file = new File(filePath);
+
+        try {
+            if (saveFormat == SaveFormat.BINARY) {
+                BinaryFormat.appendTask(task, file);
+            } else {
+                FileWriter fw = new FileWriter(file, true);
+                fw.write(task.toStorageString());
+                fw.write(System.lineSeparator());
+                fw.close();
+            }
 
-        LocalDateTime by = parseStorageDateTime(saveStringsParts[3].trim());
+            return groupCommit.requestSync(file);
+        } catch (IOException e) {
+            throw new FickleException("Couldn't append tasks to file.");
+        }
+    }
 
-        if (by == null) {
-            throw new FickleException("Invalid Date/Time Format for Deadline");
+    private synchronized void writeSegments(Map<String, String> segments, String manifest) throws FickleException {
+        try {
+            segmentStore.writeSegments(segments, manifest);
+        } catch (IOException e) {
+            throw new FickleException("Couldn't save tasks to file.");
         }
+    }
 
-        return new Deadline(name, by);
+    private synchronized GroupCommit.Batch appendToSegment(String segmentName, String line) throws FickleException {
+        try {
+            return groupCommit.requestSync(segmentStore.appendToSegment(segmentName, line));
+        } catch (IOException e) {
+            throw new FickleException("Couldn't append tasks to file.");
+        }
     }
 
-    private Task parseEvent(String name, String[] saveStringsParts) throws FickleException {
-        if (saveStringsParts.length < 5) {
-            throw new FickleException("Insufficient Fields for Event");
+    private synchronized GroupCommit.Batch appendRecord(String op, String payload) throws FickleException {
+        try {
+            journal.append(op, payload);
+            return groupCommit.requestSync(journal.getLiveFile());
+        } catch (IOException e) {
+            throw new FickleException("Couldn't save tasks to journal.");
         }
+    }
 
-        LocalDateTime from = parseStorageDateTime(saveStringsParts[3].trim());
-        LocalDateTime to = parseStorageDateTime(saveStringsParts[4].trim());
+    private synchronized GroupCommit.Batch appendRecords(Map<String, List<String>> byOp) throws FickleException {
+        try {
+            for (Map.Entry<String, List<String>> records : byOp.entrySet()) {
+                if (!records.getValue().isEmpty()) {
+                    journal.appendAll(records.getKey(), records.getValue());
+                }
+            }
+            return groupCommit.requestSync(journal.getLiveFile());
+        } catch (IOException e) {
+            throw new FickleException("Couldn't save tasks to journal.");
+        }
+    }
 
-        if (from == null || to == null) {
-            throw new FickleException("Invalid Date/Time Format for Event");
+    // Moves the journal aside and rewrites the save file from the snapshot on a background thread.
+    private synchronized void startCompaction(TaskListVersion version) {
+        if (!journal.beginCompaction()) {
+            version.close();
+            isCompacting = false;
+            return;
         }
 
-        if (from.isAfter(to)) {
-            throw new FickleException("Event start time is after the end time");
+        int generation = saveGeneration;
+
+        if (compactionExecutor == null) {
+            compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fickle-journal-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
 
-        return new Event(name, from, to);
+        compactionExecutor.execute(() -> compact(version, generation));
     }
 
-    /**
-     * Parses a date/time string in the format yyyy-MM-dd HHmm.
-     *
-     * @param dateTimeString The date/time string to parse.
-     * @return A LocalDateTime object if valid, or null invalid.
-     */
-    private LocalDateTime parseStorageDateTime(String dateTimeString) {
-        assert dateTimeString != null && !dateTimeString.isEmpty() : "DateTime string should not be null nor empty";
+    // Runs on the compaction thread. Only moving the file into place holds the lock, so that
+    // journal records can keep being appended while the snapshot is written.
+    private void compact(TaskListVersion version, int generation) {
+        File compactedFile = new File(filePath + ".compacted");
 
         try {
-            return LocalDateTime.parse(dateTimeString, LOAD_DATETIME_FORMATTER);
-        } catch (DateTimeParseException e) {
-            return null;
+            writeTasksToFile(version.getTasks(), compactedFile);
+
+            synchronized (this) {
+                // A full overwrite since the snapshot already made these records obsolete
+                if (generation == saveGeneration) {
+                    replaceSaveFile(compactedFile);
+                }
+                journal.finishCompaction();
+            }
+        } catch (FickleException e) {
+            // Records stay in the moved journal and are replayed on the next load
+        } finally {
+            compactedFile.delete();
+            version.close();
+            isCompacting = false;
+        }
+    }
+
+    // Writes all tasks to a temporary file and moves it over the save file.
+    private void writeSnapshot(List<Task> allTasks) throws FickleException {
+        File tempFile = new File(filePath + ".tmp");
+
+        writeTasksToFile(allTasks, tempFile);
+        replaceSaveFile(tempFile);
+    }
+
+    // Writes the tasks in the selected format and forces them to disk before the file is moved into place.
+    private void writeTasksToFile(List<Task> allTasks, File file) throws FickleException {
+        try {
+            if (saveFormat == SaveFormat.BINARY) {
+                BinaryFormat.writeTasks(allTasks, file);
+            } else {
+                writeTextTasks(allTasks, file);
+            }
+
+            GroupCommit.syncFile(file);
+        } catch (IOException e) {
+            throw new FickleException("Couldn't save tasks to file.");
+        }
+    }
+
+    private void writeTextTasks(List<Task> allTasks, File file) throws IOException {
+        FileWriter fw = new FileWriter(file);
+
+        for (Task task : allTasks) {
+            fw.write(task.toStorageString());
+            fw.write(System.lineSeparator());
+        }
+
+        fw.close();
+    }
+
+    // Atomically replaces the save file, so that a crash leaves either the old or the new file in place.
+    private void replaceSaveFile(File tempFile) throws FickleException {
+        try {
+            GroupCommit.moveIntoPlace(tempFile, new File(filePath));
+        } catch (IOException e) {
+            throw new FickleException("Couldn't save tasks to file.");
+        }
+    }
+
+    // Creates a folder if it does not exist. Otherwise, the folder remains unchanged.
+    private void checkAndCreateFolder() {
+        File file = new File(filePath);
+        File parent = file.getParentFile();
+
+        if (parent != null) {
+            parent.mkdirs();
         }
     }
+
+    /**
+     * Represents an append, which returns the group commit batch to wait on once it has been written.
+     */
+    private interface Append {
+        GroupCommit.Batch run() throws FickleException;
+    }
 }
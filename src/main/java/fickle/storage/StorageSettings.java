@@ -0,0 +1,144 @@
+package fickle.storage;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.Properties;
+
+import fickle.exceptions.FickleException;
+
+/**
+ * Represents the storage modes read from the settings file at startup, such as
+ * "journal = true", "format = binary", "groupCommitWindowMillis = 10", "writeBehind = true",
+ * "lazyLoad = true" or "segmented = true". Settings that are left out keep their defaults,
+ * under which changes are journaled to a text save file and each save is synced before it returns.
+ */
+public class StorageSettings {
+    private static final String JOURNAL = "journal";
+    private static final String FORMAT = "format";
+    private static final String GROUP_COMMIT_WINDOW = "groupCommitWindowMillis";
+    private static final String WRITE_BEHIND = "writeBehind";
+    private static final String LAZY_LOAD = "lazyLoad";
+    private static final String SEGMENTED = "segmented";
+
+    private boolean isJournalEnabled;
+    private SaveFormat saveFormat;
+    private long groupCommitWindowMillis;
+    private boolean isWriteBehindEnabled;
+    private boolean isLazyLoadEnabled;
+    private boolean isSegmentedLayoutEnabled;
+
+    /**
+     * Constructor for the default StorageSettings.
+     */
+    public StorageSettings() {
+        isJournalEnabled = true;
+        saveFormat = SaveFormat.TEXT;
+    }
+
+    /**
+     * Reads the settings file.
+     *
+     * @param settingsPath The path of the settings file.
+     * @return The settings in the file, or the defaults if the file does not exist.
+     * @throws FickleException If the file cannot be read or holds an invalid setting.
+     */
+    public static StorageSettings read(String settingsPath) throws FickleException {
+        StorageSettings settings = new StorageSettings();
+        File file = new File(settingsPath);
+
+        if (!file.exists()) {
+            return settings;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new FickleException("Couldn't read settings from " + settingsPath + ".");
+        }
+
+        settings.isJournalEnabled = parseBoolean(properties, JOURNAL, settings.isJournalEnabled);
+        settings.saveFormat = parseFormat(properties, settings.saveFormat);
+        settings.groupCommitWindowMillis = parseWindow(properties, settings.groupCommitWindowMillis);
+        settings.isWriteBehindEnabled = parseBoolean(properties, WRITE_BEHIND, settings.isWriteBehindEnabled);
+        settings.isLazyLoadEnabled = parseBoolean(properties, LAZY_LOAD, settings.isLazyLoadEnabled);
+        settings.isSegmentedLayoutEnabled = parseBoolean(properties, SEGMENTED, settings.isSegmentedLayoutEnabled);
+
+        return settings;
+    }
+
+    /**
+     * Sets the storage modes of the storage. Call before tasks are loaded.
+     *
+     * @param storage The storage to configure.
+     */
+    public void applyTo(Storage storage) {
+        storage.setJournalEnabled(isJournalEnabled);
+        storage.setSaveFormat(saveFormat);
+        storage.setGroupCommitWindow(groupCommitWindowMillis);
+        storage.setLazyLoadEnabled(isLazyLoadEnabled);
+        storage.setSegmentedLayoutEnabled(isSegmentedLayoutEnabled);
+
+        if (isWriteBehindEnabled) {
+            storage.enableWriteBehind();
+        }
+    }
+
+    private static boolean parseBoolean(Properties properties, String key, boolean fallback) throws FickleException {
+        String value = properties.getProperty(key);
+
+        if (value == null) {
+            return fallback;
+        }
+
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+        case "true":
+            return true;
+        case "false":
+            return false;
+        default:
+            throw invalidSetting(key, value);
+        }
+    }
+
+    private static SaveFormat parseFormat(Properties properties, SaveFormat fallback) throws FickleException {
+        String value = properties.getProperty(FORMAT);
+
+        if (value == null) {
+            return fallback;
+        }
+
+        try {
+            return SaveFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw invalidSetting(FORMAT, value);
+        }
+    }
+
+    private static long parseWindow(Properties properties, long fallback) throws FickleException {
+        String value = properties.getProperty(GROUP_COMMIT_WINDOW);
+
+        if (value == null) {
+            return fallback;
+        }
+
+        try {
+            long windowMillis = Long.parseLong(value.trim());
+
+            if (windowMillis >= 0) {
+                return windowMillis;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, like a negative window
+        }
+
+        throw invalidSetting(GROUP_COMMIT_WINDOW, value);
+    }
+
+    private static FickleException invalidSetting(String key, String value) {
+        return new FickleException("Invalid setting \"" + key + " = " + value.trim() + "\" in the settings file.");
+    }
+}
@@ -0,0 +1,208 @@
+package fickle.storage;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+
+import fickle.exceptions.FickleException;
+import fickle.tasks.Deadline;
+import fickle.tasks.Event;
+import fickle.tasks.Task;
+import fickle.tasks.Todo;
+
+/**
+ * Parses lines of the text save file into tasks.
+ * Holds no state, so lines may be parsed from several threads at once.
+ */
+final class TaskLineParser {
+    private static final DateTimeFormatter LOAD_DATETIME_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd HHmm")
+                                    .withResolverStyle(ResolverStyle.STRICT);
+    private static final String FIELD_SEPARATOR = " | ";
+
+    private TaskLineParser() {
+    }
+
+    /**
+     * Parses a line from the storage file into a Task object.
+     *
+     * @param line The line from the storage file.
+     * @return A Task object.
+     * @throws FickleException If the line from storage file is corrupted.
+     */
+    static Task parseTask(String line) throws FickleException {
+        return parseFields(line).toTask();
+    }
+
+    /**
+     * Checks a line from the storage file with the same checks as {@link #parseTask}, without constructing the task.
+     *
+     * @param line The line from the storage file.
+     * @return The identity key of the task on the line, the same as that of the task parseTask returns.
+     * @throws FickleException If the line from storage file is corrupted.
+     */
+    static String checkLine(String line) throws FickleException {
+        return parseFields(line).getIdentityKey();
+    }
+
+    private static TaskFields parseFields(String line) throws FickleException {
+        assert line != null && !line.isEmpty() : "Storage line should not be null nor empty";
+
+        String[] saveStringsParts = checkAndSplitLine(line);
+
+        String taskType = saveStringsParts[0].trim();
+        String doneStatus = saveStringsParts[1].trim();
+        String name = saveStringsParts[2].trim();
+
+        TaskFields fields;
+
+        switch (taskType) {
+        case "T":
+            fields = new TaskFields(name, null, null);
+            break;
+
+        case "D":
+            fields = parseDeadline(name, saveStringsParts);
+            break;
+
+        case "E":
+            fields = parseEvent(name, saveStringsParts);
+            break;
+
+        default:
+            throw new FickleException("Unknown Task Type");
+
+        }
+
+        fields.isDone = doneStatus.equals("1");
+
+        return fields;
+    }
+
+    // Checks a storage line and splits it.
+    private static String[] checkAndSplitLine(String line) throws FickleException {
+        String[] parts = splitFields(line);
+
+        if (parts.length < 3) {
+            throw new FickleException("Insufficient Fields");
+        }
+
+        String doneStatus = parts[1].trim();
+
+        if (!doneStatus.equals("0") && !doneStatus.equals("1")) {
+            throw new FickleException("Invalid Done Status");
+        }
+
+        return parts;
+    }
+
+    // Splits a line on " | " without a regex, dropping trailing empty fields like String.split does.
+    private static String[] splitFields(String line) {
+        ArrayList<String> fields = new ArrayList<>(5);
+        int start = 0;
+        int separatorIndex = line.indexOf(FIELD_SEPARATOR);
+
+        while (separatorIndex >= 0) {
+            fields.add(line.substring(start, separatorIndex));
+            start = separatorIndex + FIELD_SEPARATOR.length();
+            separatorIndex = line.indexOf(FIELD_SEPARATOR, start);
+        }
+        fields.add(line.substring(start));
+
+        int fieldCount = fields.size();
+        while (fieldCount > 0 && fields.get(fieldCount - 1).isEmpty()) {
+            fieldCount--;
+        }
+
+        return fields.subList(0, fieldCount).toArray(new String[0]);
+    }
+
+    private static TaskFields parseDeadline(String name, String[] saveStringsParts) throws FickleException {
+        if (saveStringsParts.length < 4) {
+            throw new FickleException("Insufficient Fields for Deadline");
+        }
+
+        LocalDateTime by = parseStorageDateTime(saveStringsParts[3].trim());
+
+        if (by == null) {
+            throw new FickleException("Invalid Date/Time Format for Deadline");
+        }
+
+        return new TaskFields(name, by, null);
+    }
+
+    private static TaskFields parseEvent(String name, String[] saveStringsParts) throws FickleException {
+        if (saveStringsParts.length < 5) {
+            throw new FickleException("Insufficient Fields for Event");
+        }
+
+        LocalDateTime from = parseStorageDateTime(saveStringsParts[3].trim());
+        LocalDateTime to = parseStorageDateTime(saveStringsParts[4].trim());
+
+        if (from == null || to == null) {
+            throw new FickleException("Invalid Date/Time Format for Event");
+        }
+
+        if (from.isAfter(to)) {
+            throw new FickleException("Event start time is after the end time");
+        }
+
+        return new TaskFields(name, from, to);
+    }
+
+    /**
+     * Parses a date/time string in the format yyyy-MM-dd HHmm.
+     *
+     * @param dateTimeString The date/time string to parse.
+     * @return A LocalDateTime object if valid, or null invalid.
+     */
+    static LocalDateTime parseStorageDateTime(String dateTimeString) {
+        assert dateTimeString != null && !dateTimeString.isEmpty() : "DateTime string should not be null nor empty";
+
+        try {
+            return LocalDateTime.parse(dateTimeString, LOAD_DATETIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // The checked fields of a line. A todo has no dates, a deadline only the first, and an event both.
+    private static class TaskFields {
+        private final String name;
+        private final LocalDateTime firstDate;
+        private final LocalDateTime secondDate;
+        private boolean isDone;
+
+        TaskFields(String name, LocalDateTime firstDate, LocalDateTime secondDate) {
+            this.name = name;
+            this.firstDate = firstDate;
+            this.secondDate = secondDate;
+        }
+
+        Task toTask() {
+            Task task;
+
+            if (firstDate == null) {
+                task = new Todo(name);
+            } else if (secondDate == null) {
+                task = new Deadline(name, firstDate);
+            } else {
+                task = new Event(name, firstDate, secondDate);
+            }
+
+            task.setLoadedStatus(isDone);
+            return task;
+        }
+
+        String getIdentityKey() {
+            if (firstDate == null) {
+                return Todo.toIdentityKey(name);
+            } else if (secondDate == null) {
+                return Deadline.toIdentityKey(name, firstDate);
+            } else {
+                return Event.toIdentityKey(name, firstDate, secondDate);
+            }
+        }
+    }
+}
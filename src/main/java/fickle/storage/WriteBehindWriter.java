@@ -0,0 +1,232 @@
+package fickle.storage;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import fickle.exceptions.FickleException;
+
+/**
+ * Runs save jobs in submission order on a dedicated writer thread, so that saving never waits on the disk.
+ * A full overwrite that directly follows another pending overwrite replaces it, as only the latest snapshot matters.
+ * The group commits of appends are waited on once no job is left to run, so that queued appends share a window.
+ */
+class WriteBehindWriter {
+    /**
+     * Represents a single write to be run on the writer thread.
+     */
+    interface Job {
+        void run() throws FickleException;
+
+        // Called instead of run when a later overwrite replaces this job before it starts
+        default void discard() {
+        }
+    }
+
+    private final ArrayDeque<Job> pendingJobs;
+    // Only used on the writer thread. Appends in the same window share a batch, which is waited on once.
+    private final LinkedHashMap<GroupCommit.Batch, String> pendingSyncs;
+    private final Thread thread;
+    private Consumer<String> failureListener;
+    private FickleException pendingFailure;
+    private boolean isLastJobOverwrite;
+    private boolean isWriting;
+    private boolean isClosed;
+
+    /**
+     * Constructor for WriteBehindWriter. Starts the writer thread.
+     *
+     * @param failureListener Receives the message of each failed write, or null to report failures on the next call.
+     */
+    WriteBehindWriter(Consumer<String> failureListener) {
+        this.pendingJobs = new ArrayDeque<>();
+        this.pendingSyncs = new LinkedHashMap<>();
+        this.failureListener = failureListener;
+
+        thread = new Thread(this::runJobs, "fickle-write-behind");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Sets the listener that receives the message of each failed write, on the writer thread.
+     *
+     * @param failureListener The listener, or null to report failures on the next call.
+     */
+    synchronized void setFailureListener(Consumer<String> failureListener) {
+        this.failureListener = failureListener;
+    }
+
+    /**
+     * Queues a job to be written.
+     *
+     * @param job The job to be run on the writer thread.
+     * @param isOverwrite True if the job rewrites the whole save file.
+     * @throws FickleException If an earlier write failed and no failure listener was set.
+     */
+    synchronized void submit(Job job, boolean isOverwrite) throws FickleException {
+        throwPendingFailure();
+        assert !isClosed : "Jobs should not be submitted after the writer is closed";
+
+        if (isOverwrite && isLastJobOverwrite) {
+            // The pending overwrite has not started yet and this snapshot supersedes it
+            pendingJobs.pollLast().discard();
+        }
+
+        pendingJobs.addLast(job);
+        isLastJobOverwrite = isOverwrite;
+        notifyAll();
+    }
+
+    /**
+     * Defers waiting for the group commit of an append until no job is left to run.
+     * Called by a job, on the writer thread.
+     *
+     * @param batch The batch whose fsync covers the append.
+     * @param failureMessage The message to report if the fsync fails.
+     */
+    void deferSync(GroupCommit.Batch batch, String failureMessage) {
+        assert Thread.currentThread() == thread : "Syncs should only be deferred by jobs on the writer thread";
+
+        pendingSyncs.putIfAbsent(batch, failureMessage);
+    }
+
+    /**
+     * Waits until every queued job has been written and synced.
+     *
+     * @throws FickleException If an earlier write failed and no failure listener was set.
+     */
+    synchronized void flush() throws FickleException {
+        while (!pendingJobs.isEmpty() || isWriting) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FickleException("Interrupted while saving tasks to file.");
+            }
+        }
+
+        throwPendingFailure();
+    }
+
+    /**
+     * Writes every queued job and stops the writer thread.
+     *
+     * @throws FickleException If an earlier write failed and no failure listener was set.
+     */
+    void close() throws FickleException {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FickleException("Interrupted while saving tasks to file.");
+        }
+
+        synchronized (this) {
+            throwPendingFailure();
+        }
+    }
+
+    private void runJobs() {
+        while (true) {
+            Job job = takeJob();
+
+            if (job == null) {
+                return;
+            }
+
+            try {
+                job.run();
+            } catch (FickleException e) {
+                // Earlier appends are reported first, in the order they were saved
+                awaitSyncs();
+                reportFailure(e);
+            } catch (RuntimeException e) {
+                // Reported like a failed write, so that the thread keeps writing and flush or close still return
+                awaitSyncs();
+                reportFailure(new FickleException("Couldn't save tasks to file."));
+            } finally {
+                finishJob();
+            }
+        }
+    }
+
+    // Waits for the deferred group commits once the queue is empty, so that flush and close return after them.
+    private void finishJob() {
+        synchronized (this) {
+            if (!pendingJobs.isEmpty()) {
+                isWriting = false;
+                notifyAll();
+                return;
+            }
+        }
+
+        awaitSyncs();
+
+        synchronized (this) {
+            isWriting = false;
+            notifyAll();
+        }
+    }
+
+    private void awaitSyncs() {
+        for (Map.Entry<GroupCommit.Batch, String> sync : pendingSyncs.entrySet()) {
+            try {
+                sync.getKey().await();
+            } catch (IOException e) {
+                reportFailure(new FickleException(sync.getValue()));
+            }
+        }
+
+        pendingSyncs.clear();
+    }
+
+    // Returns the next job, or null once the writer is closed and every job has been written.
+    private synchronized Job takeJob() {
+        while (pendingJobs.isEmpty() && !isClosed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                return null;
+            }
+        }
+
+        Job job = pendingJobs.pollFirst();
+        if (job != null) {
+            isWriting = true;
+            isLastJobOverwrite = isLastJobOverwrite && !pendingJobs.isEmpty();
+        }
+
+        return job;
+    }
+
+    private void reportFailure(FickleException failure) {
+        Consumer<String> listener;
+
+        synchronized (this) {
+            listener = failureListener;
+
+            if (listener == null) {
+                pendingFailure = failure;
+                return;
+            }
+        }
+
+        listener.accept(failure.getMessage());
+    }
+
+    private void throwPendingFailure() throws FickleException {
+        if (pendingFailure != null) {
+            FickleException failure = pendingFailure;
+            pendingFailure = null;
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package fickle.tasks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import fickle.exceptions.FickleException;
+
+/**
+ * Represents a list of tasks that can be shared by several threads.
+ * Changes are made one at a time under a lock, and each change publishes an immutable snapshot of the tasks and
+ * their statistics. Reads only look at the latest snapshot, so they never take the lock or wait for each other.
+ */
+public class ConcurrentTaskList extends TaskList {
+    private final ReentrantLock writeLock;
+    private volatile State state;
+
+    /**
+     * Constructor for ConcurrentTaskList with the tasks of the given list.
+     *
+     * @param loadedTaskList The loaded list of tasks from save file.
+     */
+    public ConcurrentTaskList(TaskList loadedTaskList) {
+        super(loadedTaskList);
+        this.writeLock = new ReentrantLock();
+        publish();
+    }
+
+    /**
+     * Alternative constructor for ConcurrentTaskList to create an empty ConcurrentTaskList.
+     */
+    public ConcurrentTaskList() {
+        super();
+        this.writeLock = new ReentrantLock();
+        publish();
+    }
+
+    /**
+     * Adds a task to the task list if it is not a duplicated task.
+     *
+     * @param task The task to be added.
+     * @return Message of added task.
+     * @throws FickleException If the task already exists in the task list.
+     */
+    @Override
+    public String addTask(Task task) throws FickleException {
+        // Locks the task first, as marking it does, so that its status cannot change while it is being counted
+        synchronized (task) {
+            writeLock.lock();
+            try {
+                String message = super.addTask(task);
+                publish();
+
+                return message;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Deletes a task from the task list.
+     *
+     * @param index The index of the task to be deleted.
+     * @return The deleted task.
+     */
+    @Override
+    public Task deleteTask(int index) {
+        writeLock.lock();
+        try {
+            Task task = super.deleteTask(index);
+            publish();
+
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the tasks at the given indexes as a single change.
+     *
+     * @param indexes The indexes of the tasks to be deleted, in increasing order without repeats.
+     * @return The deleted tasks, in the order they were in the list.
+     */
+    @Override
+    public ArrayList<Task> deleteTasks(int[] indexes) {
+        writeLock.lock();
+        try {
+            ArrayList<Task> deletedTasks = super.deleteTasks(indexes);
+            publish();
+
+            return deletedTasks;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Starts recording the changes to this list, so that they can be undone and redone.
+     * The changes made by every thread between two commits form a single version.
+     *
+     * @param maxDepth The largest number of versions that can be undone.
+     */
+    @Override
+    public void enableHistory(int maxDepth) {
+        writeLock.lock();
+        try {
+            super.enableHistory(maxDepth);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Ends the changes made since the last commit, making them a single version that can be undone.
+     *
+     * @param description The command that made the changes, as the user entered it.
+     */
+    @Override
+    public void commitVersion(String description) {
+        writeLock.lock();
+        try {
+            super.commitVersion(description);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the list to how it was before the latest version, including the status of its tasks.
+     * The list is restored under the lock, and the statuses are toggled back once it is released, as marking a
+     * task takes the lock of the task before this one.
+     *
+     * @return The command that was undone, as the user entered it.
+     * @throws FickleException If there is no version to undo.
+     */
+    @Override
+    public String undo() throws FickleException {
+        TaskHistory.Version version;
+
+        writeLock.lock();
+        try {
+            version = undoVersion();
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+
+        toggleStatuses(version);
+        return version.getDescription();
+    }
+
+    /**
+     * Makes the changes of the latest undone version again, toggling the statuses once the lock is released.
+     *
+     * @return The command that was redone, as the user entered it.
+     * @throws FickleException If there is no undone version to redo.
+     */
+    @Override
+    public String redo() throws FickleException {
+        TaskHistory.Version version;
+
+        writeLock.lock();
+        try {
+            version = redoVersion();
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+
+        toggleStatuses(version);
+        return version.getDescription();
+    }
+
+    @Override
+    void onStatusChanged(Task task, boolean isRecorded) {
+        writeLock.lock();
+        try {
+            super.onStatusChanged(task, isRecorded);
+            state = new State(state.tasks, super.getStatistics());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return state.tasks.get(index);
+    }
+
+    @Override
+    public ArrayList<Task> getAllTasks() {
+        return new ArrayList<>(state.tasks);
+    }
+
+    @Override
+    public List<Task> getSnapshot() {
+        return state.tasks;
+    }
+
+    /**
+     * Pins the latest snapshot together with the statuses its tasks had when it was read, without taking the lock.
+     * The snapshot is read again after the statuses, and the pin retried if a change was published in between,
+     * so that the version never pairs a list with statuses from after a later change to it.
+     *
+     * @return The pinned version.
+     */
+    @Override
+    public TaskListVersion pinVersion() {
+        VersionRegistry versions = getVersions();
+        TaskListVersion version = versions.register();
+
+        while (true) {
+            List<Task> tasks = state.tasks;
+            long latestVersion = versions.getLatestVersion();
+
+            if (state.tasks == tasks) {
+                version.pin(tasks, latestVersion, 0);
+                return version;
+            }
+        }
+    }
+
+    /**
+     * Never holds, so that queries on a pinned version scan its snapshot, as the indexes may only be used by the
+     * thread holding the lock.
+     *
+     * @param version A version pinned from this list.
+     * @return False.
+     */
+    @Override
+    boolean isCurrent(TaskListVersion version) {
+        return false;
+    }
+
+    /**
+     * Searches for the tasks containing the given keyword in the latest snapshot.
+     * The snapshot is scanned in full, since the name index may only be used by the thread holding the lock.
+     *
+     * @param keyword The keyword to search for.
+     * @return The ArrayList of tasks with names containing the keyword.
+     */
+    @Override
+    public ArrayList<Task> getMatchedTasks(String keyword) {
+        return filter(state.tasks, task -> task.getName().toLowerCase().contains(keyword));
+    }
+
+    /**
+     * Searches for the tasks in the latest snapshot whose names contain the keyword or something close to it.
+     * The snapshot is scanned in full, since the name index may only be used by the thread holding the lock.
+     *
+     * @param keyword The lowercased keyword to search for.
+     * @param count The largest number of tasks to return.
+     * @return The ArrayList of at most count tasks, those needing the fewest edits first.
+     */
+    @Override
+    public ArrayList<Task> getFuzzyMatchedTasks(String keyword, int count) {
+        return NameIndex.getFuzzyMatches(state.tasks, keyword, count);
+    }
+
+    /**
+     * Returns the tasks in the latest snapshot that are scheduled on the given date.
+     * The snapshot is scanned in full, since the date index may only be used by the thread holding the lock.
+     *
+     * @param targetDate The specific target date to check on.
+     * @return The ArrayList of tasks scheduled on the target date.
+     */
+    @Override
+    public ArrayList<Task> getScheduledOnTasks(LocalDate targetDate) {
+        return filter(state.tasks, task -> task.isScheduledOn(targetDate));
+    }
+
+    /**
+     * Returns the tasks in the latest snapshot that are scheduled on each day of the given date range.
+     * The snapshot is scanned in full, since the date index may only be used by the thread holding the lock.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range, not before the first.
+     * @return The days with scheduled tasks in date order, each mapped to its tasks in task list order.
+     */
+    @Override
+    public TreeMap<LocalDate, ArrayList<Task>> getScheduledBetweenTasks(LocalDate startDate, LocalDate endDate) {
+        return scanScheduledBetween(state.tasks, startDate, endDate);
+    }
+
+    /**
+     * Returns the deadlines and events in the latest snapshot that are not done and are due or start at or after
+     * the given time. The snapshot is scanned in full, since the due index may only be used by the thread holding
+     * the lock.
+     *
+     * @param now The current time.
+     * @param count The largest number of tasks to return.
+     * @return The ArrayList of at most count tasks, soonest first.
+     */
+    @Override
+    public ArrayList<Task> getUpcomingTasks(LocalDateTime now, int count) {
+        long nowMinute = EpochMinutes.of(now);
+        ArrayList<Task> upcomingTasks = filter(state.tasks, task -> !task.isDone() && getDueMinute(task) >= nowMinute);
+
+        // Stable, so tasks due at the same time stay in task list order
+        upcomingTasks.sort(Comparator.comparingLong(ConcurrentTaskList::getDueMinute));
+        return new ArrayList<>(upcomingTasks.subList(0, Math.min(count, upcomingTasks.size())));
+    }
+
+    /**
+     * Returns the deadlines in the latest snapshot that are not done and were due before the given time.
+     *
+     * @param now The current time.
+     * @return The ArrayList of overdue deadlines, most overdue first.
+     */
+    @Override
+    public ArrayList<Task> getOverdueTasks(LocalDateTime now) {
+        long nowMinute = EpochMinutes.of(now);
+        ArrayList<Task> overdueTasks = filter(state.tasks, task -> task instanceof Deadline && !task.isDone()
+                && ((Deadline) task).getByMinute() < nowMinute);
+
+        overdueTasks.sort(Comparator.comparingLong(ConcurrentTaskList::getDueMinute));
+        return overdueTasks;
+    }
+
+    /**
+     * Returns the events in the latest snapshot that overlap the given event, other than the event itself.
+     *
+     * @param event The event to check.
+     * @return The ArrayList of overlapping events, in order of their start time.
+     */
+    @Override
+    public ArrayList<Event> getOverlappingEvents(Event event) {
+        return getEventsByStart(task -> task instanceof Event && task != event
+                && ((Event) task).getFromMinute() < event.getToMinute()
+                && ((Event) task).getToMinute() > event.getFromMinute());
+    }
+
+    /**
+     * Returns every pair of events in the latest snapshot that overlap each other.
+     *
+     * @return The ArrayList of conflicts, ordered by when the later event of each pair starts.
+     */
+    @Override
+    public ArrayList<EventConflict> getEventConflicts() {
+        return EventConflict.findAll(getEventsByStart(task -> task instanceof Event), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns every pair of events in the latest snapshot that overlap each other on some day of the given range.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range, not before the first.
+     * @return The ArrayList of conflicts, ordered by when the later event of each pair starts.
+     */
+    @Override
+    public ArrayList<EventConflict> getEventConflicts(LocalDate startDate, LocalDate endDate) {
+        long firstMinute = EpochMinutes.ofDay(startDate.toEpochDay());
+        long lastMinute = EpochMinutes.ofDay(endDate.toEpochDay() + 1) - 1;
+
+        ArrayList<Event> events = getEventsByStart(task -> task instanceof Event
+                && ((Event) task).getFromMinute() <= lastMinute && ((Event) task).getToMinute() >= firstMinute);
+
+        return EventConflict.findAll(events, firstMinute, lastMinute);
+    }
+
+    @Override
+    public int getSize() {
+        return state.tasks.size();
+    }
+
+    @Override
+    public boolean isAllMarked() {
+        TaskStatistics statistics = state.statistics;
+        return statistics.getDoneCount() == statistics.getTotalCount();
+    }
+
+    @Override
+    public TaskStatistics getStatistics() {
+        return new TaskStatistics(state.statistics);
+    }
+
+    // Stable, so events starting together stay in task list order.
+    private ArrayList<Event> getEventsByStart(Predicate<Task> predicate) {
+        ArrayList<Event> events = new ArrayList<>();
+
+        for (Task task : filter(state.tasks, predicate)) {
+            events.add((Event) task);
+        }
+
+        events.sort(Comparator.comparingLong(Event::getFromMinute));
+        return events;
+    }
+
+    // Returns when a deadline is due or an event starts, or Long.MIN_VALUE for a todo, which is never upcoming.
+    private static long getDueMinute(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByMinute();
+        }
+
+        if (task instanceof Event) {
+            return ((Event) task).getFromMinute();
+        }
+
+        return Long.MIN_VALUE;
+    }
+
+    // Must be called while holding the lock, or from a constructor.
+    private void publish() {
+        state = new State(super.getSnapshot(), super.getStatistics());
+    }
+
+    private static class State {
+        private final List<Task> tasks;
+        private final TaskStatistics statistics;
+
+        State(List<Task> tasks, TaskStatistics statistics) {
+            this.tasks = tasks;
+            this.statistics = statistics;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package fickle.tasks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Indexes deadlines by due date and events by the time they span, so that the tasks scheduled on a date and the
+ * events overlapping a time are found in logarithmic time plus the number of matches. Todos are never scheduled
+ * and are not indexed. Scheduled tasks are returned in the order the tasks were added, which is their order in the
+ * task list.
+ */
+class DateIndex {
+    private final TreeMap<Long, ArrayList<Entry>> deadlinesByDay;
+    // Order of each indexed task, needed to locate it again on removal
+    private final IdentityHashMap<Task, Long> orders;
+    private EventNode eventRoot;
+    private long nextOrder;
+
+    /**
+     * Constructor for an empty DateIndex.
+     */
+    DateIndex() {
+        this.deadlinesByDay = new TreeMap<>();
+        this.orders = new IdentityHashMap<>();
+    }
+
+    /**
+     * Adds a task that was appended to the end of the task list.
+     *
+     * @param task The task that was added.
+     */
+    void add(Task task) {
+        long order = nextOrder++;
+
+        if (task instanceof Deadline) {
+            long day = ((Deadline) task).getByDay();
+            deadlinesByDay.computeIfAbsent(day, key -> new ArrayList<>()).add(new Entry(task, order));
+        } else if (task instanceof Event) {
+            eventRoot = insert(eventRoot, new EventNode((Event) task, order));
+        } else {
+            return;
+        }
+
+        orders.put(task, order);
+    }
+
+    /**
+     * Removes a task that was deleted from the task list.
+     *
+     * @param task The task that was deleted.
+     */
+    void remove(Task task) {
+        Long order = orders.remove(task);
+
+        if (order == null) {
+            return;
+        }
+
+        if (task instanceof Deadline) {
+            long day = ((Deadline) task).getByDay();
+            ArrayList<Entry> entries = deadlinesByDay.get(day);
+
+            entries.removeIf(entry -> entry.order == order);
+            if (entries.isEmpty()) {
+                deadlinesByDay.remove(day);
+            }
+        } else {
+            eventRoot = delete(eventRoot, ((Event) task).getFromMinute(), order);
+        }
+    }
+
+    /**
+     * Returns the tasks scheduled on the given date, with the same rules as {@link Task#isScheduledOn}.
+     *
+     * @param targetDate The date to check on.
+     * @return The ArrayList of tasks scheduled on the date, in task list order.
+     */
+    ArrayList<Task> getScheduledOn(LocalDate targetDate) {
+        long day = targetDate.toEpochDay();
+        ArrayList<Entry> matches = new ArrayList<>(deadlinesByDay.getOrDefault(day, new ArrayList<>()));
+
+        collectEvents(eventRoot, EpochMinutes.ofDay(day), EpochMinutes.ofDay(day + 1) - 1, matches);
+        matches.sort(Comparator.comparingLong(entry -> entry.order));
+
+        ArrayList<Task> tasks = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            tasks.add(entry.task);
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Returns the tasks scheduled on each day of the given range, from a single seek into each index.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range, not before the first.
+     * @return The days with scheduled tasks in date order, each mapped to its tasks in task list order.
+     */
+    TreeMap<LocalDate, ArrayList<Task>> getScheduledBetween(LocalDate startDate, LocalDate endDate) {
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        ArrayList<Entry> matches = new ArrayList<>();
+
+        for (ArrayList<Entry> entries : deadlinesByDay.subMap(startDay, true, endDay, true).values()) {
+            matches.addAll(entries);
+        }
+
+        collectEvents(eventRoot, EpochMinutes.ofDay(startDay), EpochMinutes.ofDay(endDay + 1) - 1, matches);
+        matches.sort(Comparator.comparingLong(entry -> entry.order));
+
+        ArrayList<Task> tasks = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            tasks.add(entry.task);
+        }
+
+        return groupByDay(tasks, startDate, endDate);
+    }
+
+    /**
+     * Groups the given tasks by each day of the range that they are scheduled on.
+     * An event is listed under every day of the range that it spans.
+     *
+     * @param tasks The tasks to group, in task list order.
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @return The days with scheduled tasks in date order, each mapped to its tasks in task list order.
+     */
+    static TreeMap<LocalDate, ArrayList<Task>> groupByDay(List<Task> tasks, LocalDate startDate, LocalDate endDate) {
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        TreeMap<LocalDate, ArrayList<Task>> tasksByDay = new TreeMap<>();
+
+        for (Task task : tasks) {
+            long firstDay;
+            long lastDay;
+
+            if (task instanceof Deadline) {
+                firstDay = ((Deadline) task).getByDay();
+                lastDay = firstDay;
+            } else if (task instanceof Event) {
+                firstDay = ((Event) task).getFromDay();
+                lastDay = ((Event) task).getToDay();
+            } else {
+                continue;
+            }
+
+            for (long day = Math.max(firstDay, startDay); day <= Math.min(lastDay, endDay); day++) {
+                tasksByDay.computeIfAbsent(LocalDate.ofEpochDay(day), key -> new ArrayList<>()).add(task);
+            }
+        }
+
+        return tasksByDay;
+    }
+
+    /**
+     * Returns the events that overlap the given event, which is assumed to be indexed.
+     *
+     * @param event The event to check.
+     * @return The ArrayList of overlapping events, in order of their start time.
+     */
+    ArrayList<Event> getOverlapping(Event event) {
+        ArrayList<Entry> matches = new ArrayList<>();
+
+        // Overlapping events start before the event ends and end after it starts
+        collectEvents(eventRoot, event.getFromMinute() + 1, event.getToMinute() - 1, matches);
+
+        ArrayList<Event> overlappingEvents = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            if (entry.task != event) {
+                overlappingEvents.add((Event) entry.task);
+            }
+        }
+
+        return overlappingEvents;
+    }
+
+    /**
+     * Returns every pair of events that overlap each other at some time within the given minutes.
+     *
+     * @param firstMinute The first minute to check.
+     * @param lastMinute The last minute to check, not before the first.
+     * @return The ArrayList of conflicts, in the order described by {@link EventConflict#findAll}.
+     */
+    ArrayList<EventConflict> getConflicts(long firstMinute, long lastMinute) {
+        ArrayList<Entry> matches = new ArrayList<>();
+        collectEvents(eventRoot, firstMinute, lastMinute, matches);
+
+        ArrayList<Event> events = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            events.add((Event) entry.task);
+        }
+
+        return EventConflict.findAll(events, firstMinute, lastMinute);
+    }
+
+    // Collects the events that start at or before the last minute and end at or after the first, in start order.
+    // Skips every subtree whose events all end before the first minute, and every right subtree starting after
+    // the last.
+    private static void collectEvents(EventNode node, long firstMinute, long lastMinute, List<Entry> matches) {
+        if (node == null || node.maxEndMinute < firstMinute) {
+            return;
+        }
+
+        collectEvents(node.left, firstMinute, lastMinute, matches);
+
+        if (node.startMinute <= lastMinute) {
+            if (node.endMinute >= firstMinute) {
+                matches.add(new Entry(node.event, node.order));
+            }
+
+            collectEvents(node.right, firstMinute, lastMinute, matches);
+        }
+    }
+
+    // Events are kept in an AVL tree ordered by start time and then order, where each node also
+    // holds the latest end time in its subtree.
+
+    private static EventNode insert(EventNode node, EventNode newNode) {
+        if (node == null) {
+            return newNode;
+        }
+
+        if (compare(newNode.startMinute, newNode.order, node) < 0) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+
+        return rebalance(node);
+    }
+
+    private static EventNode delete(EventNode node, long startMinute, long order) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = compare(startMinute, order, node);
+
+        if (comparison < 0) {
+            node.left = delete(node.left, startMinute, order);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, startMinute, order);
+        } else if (node.left == null || node.right == null) {
+            return node.left != null ? node.left : node.right;
+        } else {
+            EventNode successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+
+            successor.right = delete(node.right, successor.startMinute, successor.order);
+            successor.left = node.left;
+            node = successor;
+        }
+
+        return rebalance(node);
+    }
+
+    private static int compare(long startMinute, long order, EventNode node) {
+        int comparison = Long.compare(startMinute, node.startMinute);
+        return comparison != 0 ? comparison : Long.compare(order, node.order);
+    }
+
+    private static EventNode rebalance(EventNode node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private static EventNode rotateLeft(EventNode node) {
+        EventNode newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static EventNode rotateRight(EventNode node) {
+        EventNode newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static void update(EventNode node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEndMinute = node.endMinute;
+
+        if (node.left != null) {
+            node.maxEndMinute = Math.max(node.maxEndMinute, node.left.maxEndMinute);
+        }
+
+        if (node.right != null) {
+            node.maxEndMinute = Math.max(node.maxEndMinute, node.right.maxEndMinute);
+        }
+    }
+
+    private static int height(EventNode node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Entry {
+        private final Task task;
+        private final long order;
+
+        Entry(Task task, long order) {
+            this.task = task;
+            this.order = order;
+        }
+    }
+
+    private static class EventNode {
+        private final Event event;
+        private final long startMinute;
+        private final long endMinute;
+        private final long order;
+        private long maxEndMinute;
+        private int height;
+        private EventNode left;
+        private EventNode right;
+
+        EventNode(Event event, long order) {
+            this.event = event;
+            this.startMinute = event.getFromMinute();
+            this.endMinute = event.getToMinute();
+            this.order = order;
+            this.maxEndMinute = endMinute;
+            this.height = 1;
+        }
+    }
+}
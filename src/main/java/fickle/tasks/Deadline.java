@@ -14,21 +14,62 @@ public class Deadline extends Task {
                                     .ofPattern("EEE, MMM dd yyyy '['h:mma']'", Locale.ENGLISH);
     private static final DateTimeFormatter STORAGE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
 
-    private LocalDateTime by;
+    // Kept as minutes since the epoch rather than as a LocalDateTime, which takes three objects
+    private final long byMinute;
 
     /**
      * Constructor for Deadline task.
      *
      * @param name The name of the deadline task.
-     * @param by The due time of the deadline task.
+     * @param by The due time of the deadline task, of which seconds are dropped.
      */
     public Deadline(String name, LocalDateTime by) {
         super(name);
-        this.by = by;
+        this.byMinute = EpochMinutes.of(by);
     }
 
-    private LocalDateTime getByDate() {
-        return by;
+    /**
+     * Constructor for Deadline task from a due time kept as minutes, such as one read from a binary save file.
+     *
+     * @param name The name of the deadline task.
+     * @param byMinute The due time of the deadline task, as minutes since 1970-01-01 00:00.
+     * @throws java.time.DateTimeException If the due time is outside the range of dates.
+     */
+    public Deadline(String name, long byMinute) {
+        super(name);
+        this.byMinute = EpochMinutes.check(byMinute);
+    }
+
+    private Deadline(Deadline other, boolean isDone) {
+        super(other, isDone);
+        this.byMinute = other.byMinute;
+    }
+
+    /**
+     * Returns the due time of the deadline task.
+     *
+     * @return The due date/time.
+     */
+    public LocalDateTime getByDate() {
+        return EpochMinutes.toDateTime(byMinute);
+    }
+
+    /**
+     * Returns the due time of the deadline task without constructing a date/time.
+     *
+     * @return The due time, as minutes since 1970-01-01 00:00.
+     */
+    public long getByMinute() {
+        return byMinute;
+    }
+
+    /**
+     * Returns the day that the deadline is due, without constructing a date.
+     *
+     * @return The due day, as counted by {@link LocalDate#toEpochDay()}.
+     */
+    long getByDay() {
+        return EpochMinutes.toEpochDay(byMinute);
     }
 
     /**
@@ -39,7 +80,7 @@ public class Deadline extends Task {
     */
     @Override
     public boolean isScheduledOn(LocalDate targetDate) {
-        return by.toLocalDate().equals(targetDate);
+        return getByDay() == targetDate.toEpochDay();
     }
 
     /**
@@ -57,11 +98,37 @@ public class Deadline extends Task {
         Deadline otherDeadline = (Deadline) other;
 
         boolean isSameName = this.getName().equals(otherDeadline.getName());
-        boolean isSameByDate = this.getByDate().equals(otherDeadline.getByDate());
+        boolean isSameByDate = this.byMinute == otherDeadline.byMinute;
 
         return isSameName && isSameByDate;
     }
 
+    /**
+     * Returns the identity key of the deadline task.
+     *
+     * @return The key with taskType, name and due date/time.
+     */
+    @Override
+    public String getIdentityKey() {
+        return toIdentityKey(getName(), getByDate());
+    }
+
+    /**
+     * Returns the identity key that a deadline task with the given fields has, without constructing the task.
+     *
+     * @param name The name of the deadline task.
+     * @param by The due time of the deadline task, without seconds.
+     * @return The key with taskType, name and due date/time.
+     */
+    public static String toIdentityKey(String name, LocalDateTime by) {
+        return "D | " + name + " | " + by.format(STORAGE_FORMAT);
+    }
+
+    @Override
+    Deadline withStatus(boolean isDone) {
+        return new Deadline(this, isDone);
+    }
+
     /**
      * Returns the string representation of the deadline task.
      *
@@ -70,7 +137,7 @@ public class Deadline extends Task {
      */
     @Override
     public String toString() {
-        String outputBy = by.format(DEADLINE_DISPLAY_FORMAT);
+        String outputBy = getByDate().format(DEADLINE_DISPLAY_FORMAT);
         return "[D]" + super.toString() + " (BY: " + outputBy + ")";
     }
 
@@ -82,7 +149,7 @@ public class Deadline extends Task {
      */
     @Override
     public String toStorageString() {
-        String storageBy = by.format(STORAGE_FORMAT);
+        String storageBy = getByDate().format(STORAGE_FORMAT);
         return "D" + super.toStorageString() + " | " + storageBy;
     }
 }
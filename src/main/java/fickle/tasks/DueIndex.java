@@ -0,0 +1,152 @@
+package fickle.tasks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * Orders the deadlines and events that are not done by the time they are due or start, so that the next k of them
+ * are found in O(k + log n) and the overdue deadlines in time proportional to their number.
+ * Tasks with the same time are ordered as in the task list.
+ */
+class DueIndex {
+    private static final Comparator<Entry> DUE_ORDER = Comparator.<Entry>comparingLong(entry -> entry.minute)
+            .thenComparingLong(entry -> entry.order);
+
+    // Deadlines and events are kept apart so that overdue deadlines are found without passing over past events
+    private final TreeSet<Entry> openDeadlines;
+    private final TreeSet<Entry> openEvents;
+    // Entries of every indexed task, done or not, so that a task keeps its order when it is unmarked
+    private final IdentityHashMap<Task, Entry> entries;
+    private long nextOrder;
+
+    /**
+     * Constructor for an empty DueIndex.
+     */
+    DueIndex() {
+        this.openDeadlines = new TreeSet<>(DUE_ORDER);
+        this.openEvents = new TreeSet<>(DUE_ORDER);
+        this.entries = new IdentityHashMap<>();
+    }
+
+    /**
+     * Adds a task that was appended to the end of the task list.
+     *
+     * @param task The task that was added.
+     */
+    void add(Task task) {
+        Entry entry;
+
+        if (task instanceof Deadline) {
+            entry = new Entry(task, ((Deadline) task).getByMinute(), nextOrder++);
+        } else if (task instanceof Event) {
+            entry = new Entry(task, ((Event) task).getFromMinute(), nextOrder++);
+        } else {
+            return;
+        }
+
+        entries.put(task, entry);
+
+        if (!task.isDone()) {
+            getOpenEntries(task).add(entry);
+        }
+    }
+
+    /**
+     * Removes a task that was deleted from the task list.
+     *
+     * @param task The task that was deleted.
+     */
+    void remove(Task task) {
+        Entry entry = entries.remove(task);
+
+        if (entry != null) {
+            getOpenEntries(task).remove(entry);
+        }
+    }
+
+    /**
+     * Adds or removes a task after it was unmarked or marked.
+     *
+     * @param task The task whose status changed.
+     */
+    void changeStatus(Task task) {
+        Entry entry = entries.get(task);
+
+        if (entry == null) {
+            return;
+        }
+
+        if (task.isDone()) {
+            getOpenEntries(task).remove(entry);
+        } else {
+            getOpenEntries(task).add(entry);
+        }
+    }
+
+    /**
+     * Returns the deadlines and events that are not done and are due or start at or after the given time.
+     *
+     * @param now The current time.
+     * @param count The largest number of tasks to return.
+     * @return The ArrayList of at most count tasks, soonest first.
+     */
+    ArrayList<Task> getUpcoming(LocalDateTime now, int count) {
+        Entry from = new Entry(null, EpochMinutes.of(now), Long.MIN_VALUE);
+        Iterator<Entry> deadlines = openDeadlines.tailSet(from, true).iterator();
+        Iterator<Entry> events = openEvents.tailSet(from, true).iterator();
+
+        Entry nextDeadline = deadlines.hasNext() ? deadlines.next() : null;
+        Entry nextEvent = events.hasNext() ? events.next() : null;
+        ArrayList<Task> upcomingTasks = new ArrayList<>();
+
+        // Merges the two ordered sets until enough tasks are taken
+        while (upcomingTasks.size() < count && (nextDeadline != null || nextEvent != null)) {
+            if (nextEvent == null || (nextDeadline != null && DUE_ORDER.compare(nextDeadline, nextEvent) < 0)) {
+                upcomingTasks.add(nextDeadline.task);
+                nextDeadline = deadlines.hasNext() ? deadlines.next() : null;
+            } else {
+                upcomingTasks.add(nextEvent.task);
+                nextEvent = events.hasNext() ? events.next() : null;
+            }
+        }
+
+        return upcomingTasks;
+    }
+
+    /**
+     * Returns the deadlines that are not done and were due before the given time.
+     *
+     * @param now The current time.
+     * @return The ArrayList of overdue deadlines, most overdue first.
+     */
+    ArrayList<Task> getOverdue(LocalDateTime now) {
+        Entry to = new Entry(null, EpochMinutes.of(now), Long.MIN_VALUE);
+        ArrayList<Task> overdueTasks = new ArrayList<>();
+
+        for (Entry entry : openDeadlines.headSet(to, false)) {
+            overdueTasks.add(entry.task);
+        }
+
+        return overdueTasks;
+    }
+
+    private TreeSet<Entry> getOpenEntries(Task task) {
+        return (task instanceof Deadline) ? openDeadlines : openEvents;
+    }
+
+    private static class Entry {
+        private final Task task;
+        private final long minute;
+        private final long order;
+
+        Entry(Task task, long minute, long order) {
+            this.task = task;
+            this.minute = minute;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package fickle.tasks;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Converts between date/times and the number of minutes since 1970-01-01 00:00, the form in which tasks keep
+ * their dates. A single long takes far less memory than a LocalDateTime with its LocalDate and LocalTime.
+ */
+final class EpochMinutes {
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final long MIN_MINUTE = of(LocalDateTime.MIN);
+    private static final long MAX_MINUTE = of(LocalDateTime.MAX);
+
+    private EpochMinutes() {
+    }
+
+    /**
+     * Returns the minute of the given date/time, dropping any seconds.
+     *
+     * @param dateTime The date/time to convert.
+     * @return The number of minutes since the epoch.
+     */
+    static long of(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Checks that the given minute can be turned back into a date/time, without constructing it.
+     *
+     * @param epochMinute The number of minutes since the epoch.
+     * @return The minute.
+     * @throws DateTimeException If the minute is outside the range of LocalDateTime.
+     */
+    static long check(long epochMinute) {
+        if (epochMinute < MIN_MINUTE || epochMinute > MAX_MINUTE) {
+            throw new DateTimeException("Minute out of range: " + epochMinute);
+        }
+
+        return epochMinute;
+    }
+
+    /**
+     * Returns the date/time at the given minute.
+     *
+     * @param epochMinute The number of minutes since the epoch.
+     * @return The date/time.
+     */
+    static LocalDateTime toDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the day that the given minute falls on, as counted by {@link java.time.LocalDate#toEpochDay()}.
+     *
+     * @param epochMinute The number of minutes since the epoch.
+     * @return The number of days since the epoch.
+     */
+    static long toEpochDay(long epochMinute) {
+        return Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the first minute of the given day.
+     *
+     * @param epochDay The number of days since the epoch.
+     * @return The number of minutes since the epoch at the start of the day.
+     */
+    static long ofDay(long epochDay) {
+        return epochDay * MINUTES_PER_DAY;
+    }
+}
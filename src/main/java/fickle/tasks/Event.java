@@ -14,28 +14,95 @@ public class Event extends Task {
     private static final DateTimeFormatter EVENTS_DISPLAY_FORMAT = DateTimeFormatter
                                     .ofPattern("MMM dd yyyy '['h:mma']'", Locale.ENGLISH);
 
-    private LocalDateTime from;
-    private LocalDateTime to;
+    // Kept as minutes since the epoch rather than as LocalDateTimes, which take three objects each
+    private final long fromMinute;
+    private final long toMinute;
 
     /**
      * Constructor for Event task.
      *
      * @param name The name of the event task.
-     * @param from The start time of the event task.
-     * @param to The end time of the event task.
+     * @param from The start time of the event task, of which seconds are dropped.
+     * @param to The end time of the event task, of which seconds are dropped.
      */
     public Event(String name, LocalDateTime from, LocalDateTime to) {
         super(name);
-        this.from = from;
-        this.to = to;
+        this.fromMinute = EpochMinutes.of(from);
+        this.toMinute = EpochMinutes.of(to);
     }
 
-    private LocalDateTime getFromDate() {
-        return from;
+    /**
+     * Constructor for Event task from times kept as minutes, such as those read from a binary save file.
+     *
+     * @param name The name of the event task.
+     * @param fromMinute The start time of the event task, as minutes since 1970-01-01 00:00.
+     * @param toMinute The end time of the event task, as minutes since 1970-01-01 00:00.
+     * @throws java.time.DateTimeException If either time is outside the range of dates.
+     */
+    public Event(String name, long fromMinute, long toMinute) {
+        super(name);
+        this.fromMinute = EpochMinutes.check(fromMinute);
+        this.toMinute = EpochMinutes.check(toMinute);
+    }
+
+    private Event(Event other, boolean isDone) {
+        super(other, isDone);
+        this.fromMinute = other.fromMinute;
+        this.toMinute = other.toMinute;
+    }
+
+    /**
+     * Returns the start time of the event task.
+     *
+     * @return The start date/time.
+     */
+    public LocalDateTime getFromDate() {
+        return EpochMinutes.toDateTime(fromMinute);
+    }
+
+    /**
+     * Returns the end time of the event task.
+     *
+     * @return The end date/time.
+     */
+    public LocalDateTime getToDate() {
+        return EpochMinutes.toDateTime(toMinute);
     }
 
-    private LocalDateTime getToDate() {
-        return to;
+    /**
+     * Returns the start time of the event task without constructing a date/time.
+     *
+     * @return The start time, as minutes since 1970-01-01 00:00.
+     */
+    public long getFromMinute() {
+        return fromMinute;
+    }
+
+    /**
+     * Returns the end time of the event task without constructing a date/time.
+     *
+     * @return The end time, as minutes since 1970-01-01 00:00.
+     */
+    public long getToMinute() {
+        return toMinute;
+    }
+
+    /**
+     * Returns the day that the event starts, without constructing a date.
+     *
+     * @return The start day, as counted by {@link LocalDate#toEpochDay()}.
+     */
+    long getFromDay() {
+        return EpochMinutes.toEpochDay(fromMinute);
+    }
+
+    /**
+     * Returns the day that the event ends, without constructing a date.
+     *
+     * @return The end day, as counted by {@link LocalDate#toEpochDay()}.
+     */
+    long getToDay() {
+        return EpochMinutes.toEpochDay(toMinute);
     }
 
     /**
@@ -46,8 +113,9 @@ public class Event extends Task {
     */
     @Override
     public boolean isScheduledOn(LocalDate targetDate) {
-        boolean isAfterStartDate = !(targetDate.isBefore(from.toLocalDate()));
-        boolean isBeforeEndDate = !(targetDate.isAfter(to.toLocalDate()));
+        long targetDay = targetDate.toEpochDay();
+        boolean isAfterStartDate = targetDay >= getFromDay();
+        boolean isBeforeEndDate = targetDay <= getToDay();
 
         return isAfterStartDate && isBeforeEndDate;
     }
@@ -67,14 +135,44 @@ public class Event extends Task {
         Event otherEvent = (Event) other;
 
         boolean isSameName = this.getName().equals(otherEvent.getName());
-        boolean isSameFromDate = this.getFromDate().equals(otherEvent.getFromDate());
-        boolean isSameToDate = this.getToDate().equals(otherEvent.getToDate());
+        boolean isSameFromDate = this.fromMinute == otherEvent.fromMinute;
+        boolean isSameToDate = this.toMinute == otherEvent.toMinute;
 
         boolean isSameEvent = isSameName && isSameFromDate && isSameToDate;
 
         return isSameEvent;
     }
 
+    /**
+     * Returns the identity key of the event task.
+     *
+     * @return The key with taskType, name, start and end date/time.
+     */
+    @Override
+    public String getIdentityKey() {
+        return toIdentityKey(getName(), getFromDate(), getToDate());
+    }
+
+    /**
+     * Returns the identity key that an event task with the given fields has, without constructing the task.
+     *
+     * @param name The name of the event task.
+     * @param from The start time of the event task, without seconds.
+     * @param to The end time of the event task, without seconds.
+     * @return The key with taskType, name, start and end date/time.
+     */
+    public static String toIdentityKey(String name, LocalDateTime from, LocalDateTime to) {
+        String keyFrom = from.format(STORAGE_FORMAT);
+        String keyTo = to.format(STORAGE_FORMAT);
+
+        return "E | " + name + " | " + keyFrom + " | " + keyTo;
+    }
+
+    @Override
+    Event withStatus(boolean isDone) {
+        return new Event(this, isDone);
+    }
+
     /**
      * Returns the string representation of the event task.
      *
@@ -83,8 +181,8 @@ public class Event extends Task {
      */
     @Override
     public String toString() {
-        String outputFrom = from.format(EVENTS_DISPLAY_FORMAT);
-        String outputTo = to.format(EVENTS_DISPLAY_FORMAT);
+        String outputFrom = getFromDate().format(EVENTS_DISPLAY_FORMAT);
+        String outputTo = getToDate().format(EVENTS_DISPLAY_FORMAT);
 
         return "[E]" + super.toString() + " (FROM: " + outputFrom + "  TO: " + outputTo + ")";
     }
@@ -97,8 +195,8 @@ public class Event extends Task {
      */
     @Override
     public String toStorageString() {
-        String storageFrom = from.format(STORAGE_FORMAT);
-        String storageTo = to.format(STORAGE_FORMAT);
+        String storageFrom = getFromDate().format(STORAGE_FORMAT);
+        String storageTo = getToDate().format(STORAGE_FORMAT);
 
         return "E" + super.toStorageString() + " | " + storageFrom + " | " + storageTo;
     }
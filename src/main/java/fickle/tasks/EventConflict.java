@@ -0,0 +1,110 @@
+package fickle.tasks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Represents two events that overlap, sharing some time rather than only meeting where one ends and the other
+ * starts.
+ */
+public class EventConflict {
+    private final Event first;
+    private final Event second;
+
+    /**
+     * Constructor for EventConflict.
+     *
+     * @param first The event that starts first, or the earlier one in the task list if both start together.
+     * @param second The other event.
+     */
+    EventConflict(Event first, Event second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Finds every pair of the given events that overlap at some time within the given minutes.
+     * The events are swept in start order, while those that have started but not yet ended are kept in a heap
+     * ordered by end time, so that each event is only compared with the events it overlaps.
+     * Takes O(n log n + k) time for n events and k conflicts.
+     *
+     * @param eventsByStart The events in order of their start time, with events starting together in task list
+     *     order.
+     * @param firstMinute The first minute to check.
+     * @param lastMinute The last minute to check.
+     * @return The ArrayList of conflicts, ordered by when the second event starts and then by the first event.
+     */
+    static ArrayList<EventConflict> findAll(List<Event> eventsByStart, long firstMinute, long lastMinute) {
+        ArrayList<EventConflict> conflicts = new ArrayList<>();
+        // Positions of the events that may still overlap a later one, soonest to end first
+        PriorityQueue<Integer> ongoingEvents = new PriorityQueue<>(
+                Comparator.comparingLong(position -> eventsByStart.get(position).getToMinute()));
+
+        for (int i = 0; i < eventsByStart.size(); i++) {
+            Event event = eventsByStart.get(i);
+
+            if (event.getFromMinute() > lastMinute) {
+                break;
+            }
+
+            // An event that ends by now, or before the first minute, overlaps no later event within the minutes
+            long sweepMinute = Math.max(event.getFromMinute(), firstMinute);
+            while (!ongoingEvents.isEmpty() && eventsByStart.get(ongoingEvents.peek()).getToMinute() <= sweepMinute) {
+                ongoingEvents.poll();
+            }
+
+            // An event without length still overlaps the events around it, at the minute it happens
+            boolean isWithinMinutes = Math.max(event.getToMinute(), event.getFromMinute() + 1) > firstMinute;
+
+            if (isWithinMinutes && !ongoingEvents.isEmpty()) {
+                int[] ongoingPositions = ongoingEvents.stream().mapToInt(Integer::intValue).toArray();
+                Arrays.sort(ongoingPositions);
+
+                for (int position : ongoingPositions) {
+                    Event ongoingEvent = eventsByStart.get(position);
+
+                    // Only fails when the event has no length and starts together with the ongoing event
+                    if (ongoingEvent.getFromMinute() < event.getToMinute()) {
+                        conflicts.add(new EventConflict(ongoingEvent, event));
+                    }
+                }
+            }
+
+            if (event.getToMinute() > sweepMinute) {
+                ongoingEvents.add(i);
+            }
+        }
+
+        return conflicts;
+    }
+
+    public Event getFirst() {
+        return first;
+    }
+
+    public Event getSecond() {
+        return second;
+    }
+
+    /**
+     * Returns when the two events start to overlap, which is when the second one starts.
+     *
+     * @return The start of the overlap.
+     */
+    public LocalDateTime getOverlapStart() {
+        return second.getFromDate();
+    }
+
+    /**
+     * Returns when the two events stop overlapping, which is when the first of them ends.
+     *
+     * @return The end of the overlap.
+     */
+    public LocalDateTime getOverlapEnd() {
+        return EpochMinutes.toDateTime(Math.min(first.getToMinute(), second.getToMinute()));
+    }
+}
@@ -0,0 +1,21 @@
+package fickle.tasks;
+
+/**
+ * Represents a fixed sequence of tasks that are only constructed when first requested.
+ */
+public interface LazyTaskSource {
+    /**
+     * Returns the number of tasks in the source.
+     *
+     * @return The number of tasks.
+     */
+    int getSize();
+
+    /**
+     * Constructs the task at the given position. May be called from any thread, but never concurrently.
+     *
+     * @param index The position of the task in the source.
+     * @return A new Task object.
+     */
+    Task loadTask(int index);
+}
@@ -0,0 +1,340 @@
+package fickle.tasks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Inverted index from each trigram of the lowercased task names to the tasks containing it.
+ * A keyword search only verifies the tasks that contain the keyword's rarest trigram, against names that were
+ * lowercased once when indexed. Matches are returned in the order the tasks were added, which is their order
+ * in the task list.
+ * A fuzzy search uses the same trigrams to find the names that may contain the keyword with a few typos, and
+ * ranks them by how few edits they need.
+ */
+class NameIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    // Insertion ordered, so that short keywords can be checked against every entry in list order.
+    // Tasks do not override equals, so they are keyed by identity.
+    private final LinkedHashMap<Task, Entry> entries;
+    private final HashMap<Long, HashSet<Entry>> postings;
+    private long nextOrder;
+
+    /**
+     * Constructor for an empty NameIndex.
+     */
+    NameIndex() {
+        this.entries = new LinkedHashMap<>();
+        this.postings = new HashMap<>();
+    }
+
+    /**
+     * Adds a task that was appended to the end of the task list.
+     *
+     * @param task The task that was added.
+     */
+    void add(Task task) {
+        Entry entry = new Entry(task, task.getName().toLowerCase(), nextOrder++);
+        entries.put(task, entry);
+
+        for (long gram : getGrams(entry.lowerCaseName)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(entry);
+        }
+    }
+
+    /**
+     * Removes a task that was deleted from the task list.
+     *
+     * @param task The task that was deleted.
+     */
+    void remove(Task task) {
+        Entry entry = entries.remove(task);
+
+        if (entry == null) {
+            return;
+        }
+
+        for (long gram : getGrams(entry.lowerCaseName)) {
+            HashSet<Entry> posting = postings.get(gram);
+
+            posting.remove(entry);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose lowercased names contain the keyword.
+     *
+     * @param keyword The lowercased keyword to search for.
+     * @return The ArrayList of matching tasks, in task list order.
+     */
+    ArrayList<Task> getMatches(String keyword) {
+        if (keyword.length() < GRAM_LENGTH) {
+            return toTasks(verify(entries.values(), keyword));
+        }
+
+        HashSet<Entry> candidates = null;
+        for (long gram : getGrams(keyword)) {
+            HashSet<Entry> posting = postings.get(gram);
+
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+
+            if (candidates == null || posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+
+        ArrayList<Entry> matches = verify(candidates, keyword);
+        matches.sort(Comparator.comparingLong(entry -> entry.order));
+
+        return toTasks(matches);
+    }
+
+    /**
+     * Returns the tasks whose lowercased names contain the keyword with the fewest edits, up to a limit that grows
+     * with the length of the keyword. Only the names sharing enough trigrams with the keyword to be within the
+     * limit are checked, which are found from the postings of the keyword's rarest trigrams. A keyword short
+     * enough that a typo may leave no trigram in common is checked against every name.
+     *
+     * @param keyword The lowercased keyword to search for.
+     * @param count The largest number of tasks to return.
+     * @return The ArrayList of at most count tasks, closest first and then in task list order.
+     */
+    ArrayList<Task> getFuzzyMatches(String keyword, int count) {
+        FuzzyQuery query = new FuzzyQuery(keyword);
+
+        if (query.minSharedGrams == 0) {
+            return toTasks(query.rank(entries.values(), count));
+        }
+
+        // Rarest first. A name sharing at least minSharedGrams of the grams contains one of the first
+        // (grams - minSharedGrams + 1) of them, so only their postings are walked for candidates.
+        ArrayList<HashSet<Entry>> keywordPostings = new ArrayList<>();
+        for (long gram : query.grams) {
+            keywordPostings.add(postings.getOrDefault(gram, new HashSet<>()));
+        }
+        keywordPostings.sort(Comparator.comparingInt(HashSet::size));
+
+        int candidatePostingCount = keywordPostings.size() - query.minSharedGrams + 1;
+        HashMap<Entry, Integer> sharedGramCounts = new HashMap<>();
+
+        for (int i = 0; i < candidatePostingCount; i++) {
+            for (Entry entry : keywordPostings.get(i)) {
+                sharedGramCounts.merge(entry, 1, Integer::sum);
+            }
+        }
+
+        ArrayList<Entry> candidates = new ArrayList<>();
+        for (Map.Entry<Entry, Integer> candidate : sharedGramCounts.entrySet()) {
+            int sharedGrams = candidate.getValue();
+
+            for (int i = candidatePostingCount; i < keywordPostings.size(); i++) {
+                if (keywordPostings.get(i).contains(candidate.getKey())) {
+                    sharedGrams++;
+                }
+            }
+
+            if (sharedGrams >= query.minSharedGrams) {
+                candidates.add(candidate.getKey());
+            }
+        }
+
+        candidates.sort(Comparator.comparingLong(entry -> entry.order));
+        return toTasks(query.rank(candidates, count));
+    }
+
+    /**
+     * Returns the tasks whose names contain the keyword with the fewest edits, by checking every given task, with
+     * the same results as {@link #getFuzzyMatches} on an index of the same tasks.
+     *
+     * @param tasks The tasks to search, in task list order.
+     * @param keyword The lowercased keyword to search for.
+     * @param count The largest number of tasks to return.
+     * @return The ArrayList of at most count tasks, closest first and then in task list order.
+     */
+    static ArrayList<Task> getFuzzyMatches(Collection<Task> tasks, String keyword, int count) {
+        FuzzyQuery query = new FuzzyQuery(keyword);
+        ArrayList<Entry> candidates = new ArrayList<>();
+        long order = 0;
+
+        for (Task task : tasks) {
+            Entry entry = new Entry(task, task.getName().toLowerCase(), order++);
+
+            if (query.minSharedGrams == 0) {
+                candidates.add(entry);
+                continue;
+            }
+
+            HashSet<Long> nameGrams = getGrams(entry.lowerCaseName);
+            int sharedGrams = 0;
+
+            for (long gram : query.grams) {
+                if (nameGrams.contains(gram)) {
+                    sharedGrams++;
+                }
+            }
+
+            if (sharedGrams >= query.minSharedGrams) {
+                candidates.add(entry);
+            }
+        }
+
+        return toTasks(query.rank(candidates, count));
+    }
+
+    private static ArrayList<Entry> verify(Collection<Entry> candidates, String keyword) {
+        ArrayList<Entry> matches = new ArrayList<>();
+
+        for (Entry entry : candidates) {
+            if (entry.lowerCaseName.contains(keyword)) {
+                matches.add(entry);
+            }
+        }
+
+        return matches;
+    }
+
+    private static ArrayList<Task> toTasks(ArrayList<Entry> matches) {
+        ArrayList<Task> tasks = new ArrayList<>(matches.size());
+
+        for (Entry entry : matches) {
+            tasks.add(entry.task);
+        }
+
+        return tasks;
+    }
+
+    // Packs each run of three characters into a single long, so that no substrings are allocated.
+    private static HashSet<Long> getGrams(String text) {
+        HashSet<Long> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+
+        return grams;
+    }
+
+    // Returns the fewest edits that turn the keyword into some part of the name.
+    private static int getSubstringDistance(String keyword, String name) {
+        // Edits to turn the first i characters of the keyword into a part of the name ending at the current
+        // character, where the part may start anywhere
+        int[] distances = new int[keyword.length() + 1];
+        for (int i = 0; i <= keyword.length(); i++) {
+            distances[i] = i;
+        }
+
+        int bestDistance = keyword.length();
+
+        for (int j = 0; j < name.length() && bestDistance > 0; j++) {
+            int diagonal = 0;
+
+            for (int i = 1; i <= keyword.length(); i++) {
+                int above = distances[i];
+                int substitution = diagonal + (keyword.charAt(i - 1) == name.charAt(j) ? 0 : 1);
+
+                distances[i] = Math.min(substitution, Math.min(distances[i - 1], above) + 1);
+                diagonal = above;
+            }
+
+            bestDistance = Math.min(bestDistance, distances[keyword.length()]);
+        }
+
+        return bestDistance;
+    }
+
+    // A fuzzy search for one keyword. Each edit changes at most GRAM_LENGTH of the keyword's trigrams, so a name
+    // containing the keyword within maxEdits shares at least minSharedGrams of them. Short keywords can lose
+    // every trigram to their allowed edits, so they need none shared and are checked against every name.
+    private static class FuzzyQuery {
+        // Keywords of this many characters allow one more edit
+        private static final int CHARACTERS_PER_EDIT = 4;
+
+        private final String keyword;
+        private final HashSet<Long> grams;
+        private final int maxEdits;
+        private final int minSharedGrams;
+
+        FuzzyQuery(String keyword) {
+            this.keyword = keyword;
+            this.grams = getGrams(keyword);
+            this.maxEdits = Math.max(1, keyword.length() / CHARACTERS_PER_EDIT);
+            this.minSharedGrams = Math.max(0, grams.size() - GRAM_LENGTH * maxEdits);
+        }
+
+        // Keeps the closest count candidates within maxEdits. Candidates are checked in list order, so once count
+        // are kept a later one must be strictly closer to replace one, and the limit tightens until no more can.
+        ArrayList<Entry> rank(Collection<Entry> candidatesInOrder, int count) {
+            PriorityQueue<Match> closestMatches = new PriorityQueue<>(Match.CLOSEST_FIRST.reversed());
+            int limit = count > 0 ? maxEdits : -1;
+
+            for (Entry entry : candidatesInOrder) {
+                if (limit < 0) {
+                    break;
+                }
+
+                int distance = limit == 0
+                        ? (entry.lowerCaseName.contains(keyword) ? 0 : 1)
+                        : getSubstringDistance(keyword, entry.lowerCaseName);
+
+                if (distance > limit) {
+                    continue;
+                }
+
+                closestMatches.add(new Match(entry, distance));
+                if (closestMatches.size() > count) {
+                    closestMatches.poll();
+                }
+
+                if (closestMatches.size() == count) {
+                    limit = closestMatches.peek().distance - 1;
+                }
+            }
+
+            ArrayList<Match> matches = new ArrayList<>(closestMatches);
+            matches.sort(Match.CLOSEST_FIRST);
+
+            ArrayList<Entry> rankedEntries = new ArrayList<>();
+            for (Match match : matches) {
+                rankedEntries.add(match.entry);
+            }
+
+            return rankedEntries;
+        }
+    }
+
+    private static class Match {
+        private static final Comparator<Match> CLOSEST_FIRST = Comparator.<Match>comparingInt(match -> match.distance)
+                .thenComparingLong(match -> match.entry.order);
+
+        private final Entry entry;
+        private final int distance;
+
+        Match(Entry entry, int distance) {
+            this.entry = entry;
+            this.distance = distance;
+        }
+    }
+
+    private static class Entry {
+        private final Task task;
+        private final String lowerCaseName;
+        private final long order;
+
+        Entry(Task task, String lowerCaseName, long order) {
+            this.task = task;
+            this.lowerCaseName = lowerCaseName;
+            this.order = order;
+        }
+    }
+}
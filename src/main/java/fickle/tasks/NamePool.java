@@ -0,0 +1,47 @@
+package fickle.tasks;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of task names, so that tasks with equal names share a single String instead of each holding a copy.
+ * Names are only weakly held, so a name is dropped from the pool once no task uses it.
+ * The pool is split into stripes with a lock each, so that tasks loaded in parallel rarely wait for each other.
+ */
+final class NamePool {
+    private static final int STRIPE_COUNT = 16;
+    private static final ArrayList<WeakHashMap<String, WeakReference<String>>> STRIPES = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            STRIPES.add(new WeakHashMap<>());
+        }
+    }
+
+    private NamePool() {
+    }
+
+    /**
+     * Returns the pooled name equal to the given name, adding the name to the pool if there is none.
+     *
+     * @param name The name of a task.
+     * @return The pooled String equal to the name.
+     */
+    static String intern(String name) {
+        int hash = name.hashCode();
+        WeakHashMap<String, WeakReference<String>> stripe = STRIPES.get((hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1));
+
+        synchronized (stripe) {
+            WeakReference<String> reference = stripe.get(name);
+            String pooledName = reference == null ? null : reference.get();
+
+            if (pooledName == null) {
+                pooledName = name;
+                stripe.put(name, new WeakReference<>(name));
+            }
+
+            return pooledName;
+        }
+    }
+}
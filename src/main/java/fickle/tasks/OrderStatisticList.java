@@ -0,0 +1,367 @@
+package fickle.tasks;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * List backed by an AVL tree ordered by position, where each node holds the size of its subtree.
+ * Getting, setting, inserting and removing at an index all take O(log n), unlike an ArrayList,
+ * which shifts every later element on insertion and removal.
+ * Snapshots share the tree instead of copying it: nodes that existed when the last snapshot was taken are
+ * never changed again, and a change copies them along its path instead. A list can be restored from any snapshot
+ * in constant time in the same way.
+ *
+ * @param <E> The type of the elements.
+ */
+class OrderStatisticList<E> extends AbstractList<E> {
+    // Edits are unique across all lists, so a list never changes the nodes it shares with another list's snapshot
+    private static final AtomicLong NEXT_EDIT = new AtomicLong();
+
+    private Node<E> root;
+    // Nodes created since the last snapshot carry the current edit and may be changed in place
+    private long edit = NEXT_EDIT.incrementAndGet();
+
+    /**
+     * Constructor for an empty OrderStatisticList.
+     */
+    OrderStatisticList() {
+    }
+
+    /**
+     * Constructor for an OrderStatisticList holding the given elements in order, built in linear time.
+     *
+     * @param elements The elements of the list.
+     */
+    OrderStatisticList(Collection<? extends E> elements) {
+        Object[] array = elements.toArray();
+        root = build(array, 0, array.length);
+    }
+
+    /**
+     * Returns a read-only view of the current elements, which later changes to this list do not affect.
+     * Takes constant time, as the view shares the tree with this list.
+     *
+     * @return The snapshot of the list.
+     */
+    List<E> snapshot() {
+        edit = NEXT_EDIT.incrementAndGet();
+        return new Snapshot<>(root);
+    }
+
+    /**
+     * Checks whether a list is a snapshot taken from an OrderStatisticList, which can be restored.
+     *
+     * @param list The list to check.
+     * @return True if the list is such a snapshot.
+     */
+    static boolean isSnapshot(List<?> list) {
+        return list instanceof Snapshot;
+    }
+
+    /**
+     * Returns a new list holding the elements of a snapshot, sharing its tree.
+     * Takes constant time, and changing the new list leaves the snapshot unchanged.
+     *
+     * @param snapshot A snapshot taken from an OrderStatisticList.
+     * @param <E> The type of the elements.
+     * @return The list restored from the snapshot.
+     */
+    static <E> OrderStatisticList<E> restore(List<E> snapshot) {
+        assert snapshot instanceof Snapshot : "Only a snapshot of an OrderStatisticList can be restored";
+
+        OrderStatisticList<E> list = new OrderStatisticList<>();
+        list.root = ((Snapshot<E>) snapshot).root;
+
+        return list;
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+        return getNode(root, index).value;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = get(index);
+
+        root = replace(root, index, element);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, size() + 1);
+
+        root = insert(root, index, element);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = get(index);
+
+        root = delete(root, index);
+        modCount++;
+
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns an iterator over the elements in order, taking amortised constant time per element.
+     * The iterator does not support removal.
+     *
+     * @return The iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return iterator(root);
+    }
+
+    private static <E> Iterator<E> iterator(Node<E> root) {
+        return new Iterator<>() {
+            private final ArrayDeque<Node<E>> path = pushLeftSpine(new ArrayDeque<>(), root);
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+
+                Node<E> node = path.pop();
+                pushLeftSpine(path, node.right);
+
+                return node.value;
+            }
+        };
+    }
+
+    private static <E> Node<E> getNode(Node<E> node, int index) {
+        while (true) {
+            int leftSize = size(node.left);
+
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private static <E> ArrayDeque<Node<E>> pushLeftSpine(ArrayDeque<Node<E>> path, Node<E> node) {
+        while (node != null) {
+            path.push(node);
+            node = node.left;
+        }
+
+        return path;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<E> build(Object[] array, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+
+        int mid = (from + to) >>> 1;
+        Node<E> node = new Node<>((E) array[mid], edit);
+        node.left = build(array, from, mid);
+        node.right = build(array, mid + 1, to);
+        update(node);
+
+        return node;
+    }
+
+    // Returns the node itself if it may be changed in place, or else a copy of it for this list to change.
+    private Node<E> editable(Node<E> node) {
+        if (node.edit == edit) {
+            return node;
+        }
+
+        Node<E> copy = new Node<>(node.value, edit);
+        copy.height = node.height;
+        copy.size = node.size;
+        copy.left = node.left;
+        copy.right = node.right;
+
+        return copy;
+    }
+
+    private Node<E> replace(Node<E> node, int index, E element) {
+        node = editable(node);
+        int leftSize = size(node.left);
+
+        if (index < leftSize) {
+            node.left = replace(node.left, index, element);
+        } else if (index > leftSize) {
+            node.right = replace(node.right, index - leftSize - 1, element);
+        } else {
+            node.value = element;
+        }
+
+        return node;
+    }
+
+    private Node<E> insert(Node<E> node, int index, E element) {
+        if (node == null) {
+            return new Node<>(element, edit);
+        }
+
+        node = editable(node);
+        int leftSize = size(node.left);
+
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, element);
+        } else {
+            node.right = insert(node.right, index - leftSize - 1, element);
+        }
+
+        return rebalance(node);
+    }
+
+    private Node<E> delete(Node<E> node, int index) {
+        node = editable(node);
+        int leftSize = size(node.left);
+
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else if (index > leftSize) {
+            node.right = delete(node.right, index - leftSize - 1);
+        } else if (node.left == null || node.right == null) {
+            return node.left != null ? node.left : node.right;
+        } else {
+            Node<E> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+
+            Node<E> right = delete(node.right, 0);
+            successor = editable(successor);
+            successor.right = right;
+            successor.left = node.left;
+            node = successor;
+        }
+
+        return rebalance(node);
+    }
+
+    // The node must already be editable.
+    private Node<E> rebalance(Node<E> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(editable(node.left));
+            }
+            return rotateRight(node);
+        }
+
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(editable(node.right));
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> newRoot = editable(node.right);
+        node.right = newRoot.left;
+        newRoot.left = node;
+
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> newRoot = editable(node.left);
+        node.left = newRoot.right;
+        newRoot.right = node;
+
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static class Node<E> {
+        private final long edit;
+        private E value;
+        private int height;
+        private int size;
+        private Node<E> left;
+        private Node<E> right;
+
+        Node(E value, long edit) {
+            this.edit = edit;
+            this.value = value;
+            this.height = 1;
+            this.size = 1;
+        }
+    }
+
+    private static class Snapshot<E> extends AbstractList<E> {
+        private final Node<E> root;
+
+        Snapshot(Node<E> root) {
+            this.root = root;
+        }
+
+        @Override
+        public E get(int index) {
+            Objects.checkIndex(index, size());
+            return getNode(root, index).value;
+        }
+
+        @Override
+        public int size() {
+            return OrderStatisticList.size(root);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return OrderStatisticList.iterator(root);
+        }
+    }
+}
@@ -1,25 +1,46 @@
 package fickle.tasks;
 
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import fickle.exceptions.FickleException;
 
 /** Abstract class representing a task */
 public abstract class Task {
+    private static final AtomicReferenceFieldUpdater<Task, TaskStatus> STATUS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Task.class, TaskStatus.class, "status");
+
     private String name;
-    private boolean isDone;
+    // Volatile so that a status change is seen by every thread that reads it afterwards
+    private volatile TaskStatus status;
+    // The list that this task was last added to, which keeps count of its done tasks
+    private volatile TaskList owner;
+    // Numbers the status changes of the task once it is in a list, and is kept after the task leaves the list
+    // for the versions pinned before it left
+    private volatile VersionRegistry versions;
 
     /**
      * Constructor for Task.
      *
-     * @param name The name of the task.
+     * @param name The name of the task, which is shared with other tasks of the same name.
      */
     public Task(String name) {
-        this.name = name;
-        this.isDone = false;
+        this.name = NamePool.intern(name);
+        this.status = TaskStatus.NOT_DONE;
 
     }
 
+    /**
+     * Constructor for a copy of a task with the given status, which is not part of any list.
+     *
+     * @param other The task to be copied.
+     * @param isDone The status of the copy.
+     */
+    Task(Task other, boolean isDone) {
+        this.name = other.name;
+        this.status = TaskStatus.of(isDone);
+    }
+
     /**
      * Checks whether this task occurs on the given date.
      *
@@ -36,6 +57,22 @@ public abstract class Task {
      */
     public abstract boolean isDuplicatedTask(Task other);
 
+    /**
+     * Returns a key that identifies this task regardless of its completion status.
+     * Two tasks share the same key exactly when one is a duplicate of the other.
+     *
+     * @return The identity key of the task.
+     */
+    public abstract String getIdentityKey();
+
+    /**
+     * Returns a copy of this task with the given status, for reading a task as it was in a pinned version.
+     *
+     * @param isDone The status of the copy.
+     * @return The copy of the task.
+     */
+    abstract Task withStatus(boolean isDone);
+
     /**
      * Gets the name of the task.
      *
@@ -47,28 +84,53 @@ public abstract class Task {
 
     /**
      * Marks the task to set its status as done.
+     * Synchronized so that when several threads mark the same task, exactly one of them succeeds.
      *
      * @throws FickleException If the task is already marked as done.
      */
-    public void markAsDone() throws FickleException {
-        if (isDone) {
+    public synchronized void markAsDone() throws FickleException {
+        if (isDone()) {
             throw new FickleException("This task is already marked before.\n  " + this.toString(), "As It is");
         }
 
-        isDone = true;
+        commitStatus(true);
+        notifyOwner(true);
     }
 
     /**
      * Marks the task to set its status as not done.
+     * Synchronized so that when several threads unmark the same task, exactly one of them succeeds.
      *
      * @throws FickleException If the task is already unmarked.
      */
-    public void markAsNotDone() throws FickleException {
-        if (!isDone) {
+    public synchronized void markAsNotDone() throws FickleException {
+        if (!isDone()) {
             throw new FickleException("This task is already unmarked before.\n  " + this.toString(), "As It is");
         }
 
-        isDone = false;
+        commitStatus(false);
+        notifyOwner(true);
+    }
+
+    /**
+     * Flips the completion status of the task, to undo or redo a mark or unmark.
+     * The owner is notified without recording the flip as a change that can itself be undone.
+     */
+    synchronized void toggleStatus() {
+        commitStatus(!isDone());
+        notifyOwner(false);
+    }
+
+    /**
+     * Sets the status of a task that is being loaded, before it is added to any list.
+     * Unlike marking the task, this takes no lock, so tasks can be loaded on many threads at once.
+     *
+     * @param isDone Whether the loaded task is done.
+     */
+    public void setLoadedStatus(boolean isDone) {
+        assert versions == null : "Only a task that is in no list can have its status loaded";
+
+        status = TaskStatus.of(isDone);
     }
 
     /**
@@ -77,7 +139,7 @@ public abstract class Task {
      * @return True if the task is marked as done, else False.
      */
     public boolean isDone() {
-        return isDone;
+        return status.isDone();
     }
 
     /**
@@ -101,7 +163,60 @@ public abstract class Task {
         return " | " + statusIcon + " | " + getName();
     }
 
+    /**
+     * Sets the list that is notified when this task is marked or unmarked.
+     *
+     * @param owner The list containing this task, or null if it was removed from its list.
+     */
+    void setOwner(TaskList owner) {
+        this.owner = owner;
+    }
+
+    TaskList getOwner() {
+        return owner;
+    }
+
+    void setVersions(VersionRegistry versions) {
+        this.versions = versions;
+    }
+
+    TaskStatus getStatus() {
+        return status;
+    }
+
+    void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Replaces the status only if it is still the expected one, for threads that do not hold the lock of the task.
+     *
+     * @param expected The status that the task is expected to have.
+     * @param status The new status.
+     */
+    void compareAndSetStatus(TaskStatus expected, TaskStatus status) {
+        STATUS_UPDATER.compareAndSet(this, expected, status);
+    }
+
+    // A task that was never in a list cannot be read by any pinned version, so it keeps no history.
+    private void commitStatus(boolean isDone) {
+        VersionRegistry taskVersions = versions;
+
+        if (taskVersions == null) {
+            status = TaskStatus.of(isDone);
+            return;
+        }
+
+        taskVersions.commitStatus(this, isDone);
+    }
+
+    private void notifyOwner(boolean isRecorded) {
+        if (owner != null) {
+            owner.onStatusChanged(this, isRecorded);
+        }
+    }
+
     private String getStatusIcon() {
-        return (isDone) ? "X" : " ";
+        return (isDone()) ? "X" : " ";
     }
 }
@@ -0,0 +1,175 @@
+package fickle.tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the versions of a task list that can be undone and redone, one for each command that changed it.
+ * A version holds snapshots of the list before and after the command, which share the tree of a large list,
+ * and the tasks that the command added, deleted or marked, so each version costs memory in proportion to its
+ * changes rather than to the size of the list.
+ */
+class TaskHistory {
+    private final int maxDepth;
+    // Most recent version first
+    private final ArrayDeque<Version> undoVersions;
+    private final ArrayDeque<Version> redoVersions;
+
+    /**
+     * Constructor for an empty TaskHistory.
+     *
+     * @param maxDepth The largest number of versions kept for undo, after which the oldest is dropped.
+     */
+    TaskHistory(int maxDepth) {
+        assert maxDepth > 0 : "History depth should be positive";
+
+        this.maxDepth = maxDepth;
+        this.undoVersions = new ArrayDeque<>();
+        this.redoVersions = new ArrayDeque<>();
+    }
+
+    /**
+     * Adds the version made by a new command, which can no longer be followed by the versions that were undone.
+     *
+     * @param version The finished version.
+     */
+    void add(Version version) {
+        undoVersions.push(version);
+        redoVersions.clear();
+
+        if (undoVersions.size() > maxDepth) {
+            undoVersions.removeLast();
+        }
+    }
+
+    /**
+     * Moves the latest version from the undo history to the redo history.
+     *
+     * @return The version to undo, or null if there is none.
+     */
+    Version undo() {
+        Version version = undoVersions.poll();
+
+        if (version != null) {
+            redoVersions.push(version);
+        }
+
+        return version;
+    }
+
+    /**
+     * Moves the latest undone version back to the undo history.
+     *
+     * @return The version to redo, or null if there is none.
+     */
+    Version redo() {
+        Version version = redoVersions.poll();
+
+        if (version != null) {
+            undoVersions.push(version);
+        }
+
+        return version;
+    }
+
+    /**
+     * Represents the changes that one command made to the task list.
+     */
+    static class Version {
+        private final ArrayList<Task> addedTasks;
+        private final ArrayList<Task> deletedTasks;
+        private final ArrayList<Task> toggledTasks;
+        // Moved on top of a restored list while only statuses have changed
+        private List<Task> tasksBefore;
+        private List<Task> tasksAfter;
+        private String description;
+
+        /**
+         * Constructor for a Version that starts recording changes.
+         *
+         * @param tasksBefore The snapshot of the tasks before the first change.
+         */
+        Version(List<Task> tasksBefore) {
+            this.tasksBefore = tasksBefore;
+            this.addedTasks = new ArrayList<>();
+            this.deletedTasks = new ArrayList<>();
+            this.toggledTasks = new ArrayList<>();
+        }
+
+        void recordAdd(Task task) {
+            addedTasks.add(task);
+        }
+
+        void recordDelete(Task task) {
+            // A task added and deleted by the same command leaves nothing to undo
+            for (int i = addedTasks.size() - 1; i >= 0; i--) {
+                if (addedTasks.get(i) == task) {
+                    addedTasks.remove(i);
+                    return;
+                }
+            }
+
+            deletedTasks.add(task);
+        }
+
+        void recordToggle(Task task) {
+            toggledTasks.add(task);
+        }
+
+        /**
+         * Checks whether the tasks in the list have changed, rather than only their statuses.
+         *
+         * @return True if a task was added or deleted.
+         */
+        boolean isListChanged() {
+            return !addedTasks.isEmpty() || !deletedTasks.isEmpty();
+        }
+
+        /**
+         * Moves the statuses changed so far on top of another list, after that list was restored.
+         *
+         * @param tasksBefore The snapshot of the restored list.
+         */
+        void rebase(List<Task> tasksBefore) {
+            assert !isListChanged() : "Only a version that changed no more than statuses can be moved";
+
+            this.tasksBefore = tasksBefore;
+        }
+
+        /**
+         * Finishes recording once the command is done.
+         *
+         * @param description The command that made the changes.
+         * @param tasksAfter The snapshot of the tasks after the last change.
+         */
+        void finish(String description, List<Task> tasksAfter) {
+            this.description = description;
+            this.tasksAfter = tasksAfter;
+        }
+
+        List<Task> getTasksBefore() {
+            return tasksBefore;
+        }
+
+        List<Task> getTasksAfter() {
+            return tasksAfter;
+        }
+
+        List<Task> getAddedTasks() {
+            return addedTasks;
+        }
+
+        List<Task> getDeletedTasks() {
+            return deletedTasks;
+        }
+
+        List<Task> getToggledTasks() {
+            return toggledTasks;
+        }
+
+        String getDescription() {
+            return description;
+        }
+    }
+}
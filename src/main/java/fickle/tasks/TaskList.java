@@ -1,7 +1,13 @@
 package fickle.tasks;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 
 import fickle.exceptions.FickleException;
 
@@ -9,7 +15,37 @@ import fickle.exceptions.FickleException;
  * Represents a list of tasks. Manages adding and getting tasks.
  */
 public class TaskList {
-    private ArrayList<Task> tasks;
+    // Tasks constructed by the background thread per acquisition of the lock, so that commands are not held up
+    private static final int HYDRATION_BATCH_SIZE = 1024;
+    // Smaller lists are faster to index and iterate as an array, larger ones are faster to delete from as a tree
+    private static final int TREE_BACKING_MIN_SIZE = 8192;
+    // A tree is rebuilt rather than removed from when at least 1 in this many of its tasks are deleted at once
+    private static final int TREE_REBUILD_MIN_FRACTION = 32;
+
+    // Holds null for tasks that have not been constructed yet
+    private List<Task> tasks;
+    // Source of the tasks that have not been constructed yet, or null once every task has been constructed
+    private volatile LazyTaskSource lazySource;
+    // Whether an array backing is shared with a snapshot, and so must be copied before it is changed
+    private boolean isBackingShared;
+    // Identity keys of all tasks, built on the first duplicate check
+    private HashSet<String> identityKeys;
+    // Dates of all deadlines and events, built on the first schedule lookup
+    private DateIndex dateIndex;
+    // Name trigrams of all tasks, built on the first keyword search
+    private NameIndex nameIndex;
+    // Counts of all tasks, built when first needed and then kept up to date by the tasks themselves
+    private TaskStatistics statistics;
+    // Due times of the open deadlines and events, built on the first upcoming or overdue lookup
+    private DueIndex dueIndex;
+    // Versions for undo and redo, or null if changes are not recorded
+    private TaskHistory history;
+    // Changes made since the last version was committed, or null if there are none
+    private TaskHistory.Version pendingVersion;
+    // Number of times tasks were added, deleted or restored, so that a pinned version can tell if it is current
+    private long changeCount;
+    // Numbers the status changes of the tasks, shared with the list that this one was copied from
+    private final VersionRegistry versions;
 
     /**
      * Constructor for TaskList with the list of tasks.
@@ -17,7 +53,24 @@ public class TaskList {
      * @param tasks The loaded list of tasks from save file.
      */
     public TaskList(TaskList loadedTaskList) {
-        this.tasks = new ArrayList<>(loadedTaskList.tasks);
+        this.tasks = createBacking(loadedTaskList.getSnapshot());
+        this.versions = loadedTaskList.versions;
+    }
+
+    /**
+     * Constructor for TaskList whose tasks are constructed on first access.
+     * The remaining tasks are constructed on a background thread until the whole list is hydrated.
+     *
+     * @param lazySource The source that constructs each task.
+     */
+    public TaskList(LazyTaskSource lazySource) {
+        this.tasks = createBacking(Collections.nCopies(lazySource.getSize(), null));
+        this.lazySource = lazySource;
+        this.versions = new VersionRegistry();
+
+        Thread thread = new Thread(this::hydrateInBackground, "fickle-hydration");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     /**
@@ -25,6 +78,108 @@ public class TaskList {
      */
     public TaskList() {
         this.tasks = new ArrayList<>();
+        this.versions = new VersionRegistry();
+    }
+
+    /**
+     * Starts recording the changes to this list, so that the changes of each command can be undone and redone.
+     * Nothing is loaded or copied until the list first changes. Each version then holds snapshots of the list,
+     * which share the tree of a large list and copy the array of a small one.
+     *
+     * @param maxDepth The largest number of commands that can be undone.
+     */
+    public void enableHistory(int maxDepth) {
+        history = new TaskHistory(maxDepth);
+    }
+
+    /**
+     * Ends the changes of a command, making them a single version that can be undone.
+     * Does nothing if the list was not changed since the last call, or if changes are not recorded.
+     *
+     * @param description The command that made the changes, as the user entered it.
+     */
+    public void commitVersion(String description) {
+        if (pendingVersion == null) {
+            return;
+        }
+
+        pendingVersion.finish(description, takeSnapshot());
+        history.add(pendingVersion);
+        pendingVersion = null;
+    }
+
+    /**
+     * Returns the list to how it was before the latest command that changed it, including the status of its tasks.
+     *
+     * @return The command that was undone, as the user entered it.
+     * @throws FickleException If there is no command to undo.
+     */
+    public String undo() throws FickleException {
+        TaskHistory.Version version = undoVersion();
+        toggleStatuses(version);
+
+        return version.getDescription();
+    }
+
+    /**
+     * Makes the latest undone command's changes again.
+     *
+     * @return The command that was redone, as the user entered it.
+     * @throws FickleException If there is no undone command to redo.
+     */
+    public String redo() throws FickleException {
+        TaskHistory.Version version = redoVersion();
+        toggleStatuses(version);
+
+        return version.getDescription();
+    }
+
+    /**
+     * Puts back the list as it was before the latest command that changed it, without the status of its tasks.
+     *
+     * @return The undone version, whose tasks still have to be toggled back by {@link #toggleStatuses}.
+     * @throws FickleException If there is no command to undo.
+     */
+    TaskHistory.Version undoVersion() throws FickleException {
+        checkPendingVersion();
+        TaskHistory.Version version = (history == null) ? null : history.undo();
+
+        if (version == null) {
+            throw new FickleException("There is nothing to undo.", "Out of Nothing");
+        }
+
+        // Tasks deleted by the command return to their old positions
+        restoreVersion(version.getTasksBefore(), version.getAddedTasks(), version.getDeletedTasks(), false);
+        return version;
+    }
+
+    /**
+     * Puts back the list as it was after the latest undone command, without the status of its tasks.
+     *
+     * @return The redone version, whose tasks still have to be toggled again by {@link #toggleStatuses}.
+     * @throws FickleException If there is no undone command to redo.
+     */
+    TaskHistory.Version redoVersion() throws FickleException {
+        checkPendingVersion();
+        TaskHistory.Version version = (history == null) ? null : history.redo();
+
+        if (version == null) {
+            throw new FickleException("There is nothing to redo.", "Out of Nothing");
+        }
+
+        // Tasks added by the command return to the end of the list
+        restoreVersion(version.getTasksAfter(), version.getDeletedTasks(), version.getAddedTasks(), true);
+        return version;
+    }
+
+    /**
+     * Toggles the status of the tasks that a version marked or unmarked, after the version was undone or redone.
+     * The toggles are not recorded as a new version.
+     *
+     * @param version The undone or redone version.
+     */
+    static void toggleStatuses(TaskHistory.Version version) {
+        version.getToggledTasks().forEach(Task::toggleStatus);
     }
 
     /**
@@ -35,12 +190,34 @@ public class TaskList {
      * @throws FickleException IIf the task already exists in the task list.
      */
     public String addTask(Task task) throws FickleException {
+        hydrate();
         checkDuplicates(task);
 
+        // The snapshot of the version is taken first, so that the change copies the backing it shares
+        startVersion();
+        prepareBackingForChange();
+        recordAdd(task);
         tasks.add(task);
+        changeCount++;
+
+        if (tasks.size() >= TREE_BACKING_MIN_SIZE && tasks instanceof ArrayList) {
+            tasks = createBacking(tasks);
+        }
+
+        addToIndexes(task);
         return task.toString();
     }
 
+    /**
+     * Returns the message for a task that is not added because the list already holds a task with its identity key.
+     *
+     * @param task The duplicated task.
+     * @return The message.
+     */
+    public static String getDuplicateMessage(Task task) {
+        return "Task not added as duplicate detected below:\n  " + task;
+    }
+
     /**
      * Deletes a task from the task list.
      *
@@ -48,7 +225,61 @@ public class TaskList {
      * @return Message of deleted task.
      */
     public Task deleteTask(int index) {
-        return tasks.remove(index);
+        hydrate();
+        startVersion();
+        prepareBackingForChange();
+        Task task = tasks.remove(index);
+        changeCount++;
+
+        recordDelete(task);
+        removeFromIndexes(task);
+        return task;
+    }
+
+    /**
+     * Deletes the tasks at the given indexes in a single pass over the task list.
+     *
+     * @param indexes The indexes of the tasks to be deleted, in increasing order without repeats.
+     * @return The deleted tasks, in the order they were in the list.
+     */
+    public ArrayList<Task> deleteTasks(int[] indexes) {
+        hydrate();
+        startVersion();
+        changeCount++;
+        ArrayList<Task> deletedTasks = new ArrayList<>(indexes.length);
+
+        if (tasks instanceof OrderStatisticList && indexes.length < tasks.size() / TREE_REBUILD_MIN_FRACTION) {
+            // Each removal from a tree takes O(log n), and removing from the back keeps the earlier indexes valid
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                deletedTasks.add(tasks.remove(indexes[i]));
+            }
+            Collections.reverse(deletedTasks);
+        } else {
+            // Copies the remaining tasks once instead of shifting or rebalancing for every deleted task
+            ArrayList<Task> remainingTasks = new ArrayList<>(tasks.size() - indexes.length);
+            int index = 0;
+            int next = 0;
+
+            for (Task task : tasks) {
+                if (next < indexes.length && indexes[next] == index) {
+                    deletedTasks.add(task);
+                    next++;
+                } else {
+                    remainingTasks.add(task);
+                }
+                index++;
+            }
+
+            tasks = (tasks instanceof OrderStatisticList) ? createBacking(remainingTasks) : remainingTasks;
+            isBackingShared = false;
+        }
+
+        for (Task task : deletedTasks) {
+            recordDelete(task);
+            removeFromIndexes(task);
+        }
+
+        return deletedTasks;
     }
 
     /**
@@ -58,6 +289,10 @@ public class TaskList {
      * @return The task at the index.
      */
     public Task getTask(int index) {
+        if (lazySource != null) {
+            return materialize(index);
+        }
+
         return this.tasks.get(index);
     }
 
@@ -67,9 +302,61 @@ public class TaskList {
      * @return The ArrayList of tasks.
      */
     public ArrayList<Task> getAllTasks() {
+        hydrate();
         return new ArrayList<>(tasks);
     }
 
+    /**
+     * Returns a read-only snapshot of the tasks in this taskList, which later changes to the list do not affect.
+     * Taking a snapshot copies nothing, so it is cheaper than {@link #getAllTasks()} for tasks that are only read,
+     * and it may be read on another thread while this list keeps changing.
+     *
+     * @return The unmodifiable List of tasks.
+     */
+    public List<Task> getSnapshot() {
+        return takeSnapshot();
+    }
+
+    /**
+     * Pins the current version of this taskList for a long read, which sees neither later changes to the list
+     * nor later changes to the status of its tasks. The version must be closed once it is no longer read.
+     *
+     * @return The pinned version.
+     */
+    public TaskListVersion pinVersion() {
+        TaskListVersion version = versions.register();
+        version.pin(getSnapshot(), versions.getLatestVersion(), changeCount);
+        return version;
+    }
+
+    VersionRegistry getVersions() {
+        return versions;
+    }
+
+    /**
+     * Checks whether no task was added or deleted since the given version was pinned, so that the indexes of
+     * this list answer queries on the version.
+     *
+     * @param version A version pinned from this list.
+     * @return True if the version still has the same tasks as this list.
+     */
+    boolean isCurrent(TaskListVersion version) {
+        return version.getChangeCount() == changeCount;
+    }
+
+    /**
+     * Returns a page of the tasks in this taskList, from a snapshot that later changes to the list do not affect.
+     * Only the tasks on the page are visited, so the cost depends on the page size rather than the list size.
+     *
+     * @param pageNumber The page to return, starting from 1.
+     * @param pageSize The number of tasks on each page.
+     * @return The page of tasks.
+     * @throws FickleException If there is no page with the given number.
+     */
+    public TaskPage getPage(int pageNumber, int pageSize) throws FickleException {
+        return TaskPage.of(getSnapshot(), pageNumber, pageSize);
+    }
+
     /**
      * Searches for the tasks containing the given keyword in this tasklist.
      *
@@ -77,10 +364,52 @@ public class TaskList {
      * @return The ArrayList of tasks with names containing the keyword.
      */
     public ArrayList<Task> getMatchedTasks(String keyword) {
-        ArrayList<Task> matchedTasks = new ArrayList<>(tasks.stream()
-                                        .filter(task -> task.getName().toLowerCase().contains(keyword)).toList());
+        return getNameIndex().getMatches(keyword);
+    }
 
-        return matchedTasks;
+    /**
+     * Searches for the tasks containing the given keyword among the tasks of a pinned version.
+     * The name index answers the search while the version is current, and the version is scanned otherwise.
+     *
+     * @param version A version pinned from this list.
+     * @param keyword The keyword to search for.
+     * @return The ArrayList of tasks with names containing the keyword, in the order of the version.
+     */
+    public ArrayList<Task> getMatchedTasks(TaskListVersion version, String keyword) {
+        if (isCurrent(version)) {
+            return getMatchedTasks(keyword);
+        }
+
+        return filter(version.getSnapshot(), task -> task.getName().toLowerCase().contains(keyword));
+    }
+
+    /**
+     * Searches for the tasks whose names contain the keyword or something close to it, such as the keyword with
+     * a typo. Only the tasks sharing trigrams with the keyword are checked, found from the same name index that
+     * keyword searches use.
+     *
+     * @param keyword The lowercased keyword to search for.
+     * @param count The largest number of tasks to return.
+     * @return The ArrayList of at most count tasks, those needing the fewest edits first.
+     */
+    public ArrayList<Task> getFuzzyMatchedTasks(String keyword, int count) {
+        return getNameIndex().getFuzzyMatches(keyword, count);
+    }
+
+    /**
+     * Searches for the tasks closest to the keyword among the tasks of a pinned version.
+     *
+     * @param version A version pinned from this list.
+     * @param keyword The lowercased keyword to search for.
+     * @param count The largest number of tasks to return.
+     * @return The ArrayList of at most count tasks, those needing the fewest edits first.
+     */
+    public ArrayList<Task> getFuzzyMatchedTasks(TaskListVersion version, String keyword, int count) {
+        if (isCurrent(version)) {
+            return getFuzzyMatchedTasks(keyword, count);
+        }
+
+        return NameIndex.getFuzzyMatches(version.getSnapshot(), keyword, count);
     }
 
     /**
@@ -98,7 +427,42 @@ public class TaskList {
      * @return true if all tasks are completed, else returns false.
      */
     public boolean isAllMarked() {
-        return tasks.stream().allMatch(Task::isDone);
+        TaskStatistics statistics = getLiveStatistics();
+        return statistics.getDoneCount() == statistics.getTotalCount();
+    }
+
+    /**
+     * Returns the number of tasks in the list, in total and by type, and how many of them are done.
+     *
+     * @return A copy of the current statistics.
+     */
+    public TaskStatistics getStatistics() {
+        return new TaskStatistics(getLiveStatistics());
+    }
+
+    /**
+     * Updates the statistics and the due index after a task in this list was marked or unmarked.
+     *
+     * @param task The task whose status changed.
+     * @param isRecorded Whether the change can be undone, which it cannot when it undoes or redoes another.
+     */
+    void onStatusChanged(Task task, boolean isRecorded) {
+        // The task may have been deleted from this list while its status was changing
+        if (task.getOwner() != this) {
+            return;
+        }
+
+        if (isRecorded) {
+            recordToggle(task);
+        }
+
+        if (statistics != null) {
+            statistics.changeStatus(task);
+        }
+
+        if (dueIndex != null) {
+            dueIndex.changeStatus(task);
+        }
     }
 
     /**
@@ -108,19 +472,403 @@ public class TaskList {
      * @return The ArrayList of tasks scheduled on the target date.
      */
     public ArrayList<Task> getScheduledOnTasks(LocalDate targetDate) {
-        ArrayList<Task> scheduledTasks = new ArrayList<>(
-                                        tasks.stream().filter(task -> task.isScheduledOn(targetDate)).toList());
+        return getDateIndex().getScheduledOn(targetDate);
+    }
+
+    /**
+     * Returns the tasks of a pinned version that are scheduled on the given date.
+     *
+     * @param version A version pinned from this list.
+     * @param targetDate The specific target date to check on.
+     * @return The ArrayList of tasks scheduled on the target date, in the order of the version.
+     */
+    public ArrayList<Task> getScheduledOnTasks(TaskListVersion version, LocalDate targetDate) {
+        if (isCurrent(version)) {
+            return getScheduledOnTasks(targetDate);
+        }
+
+        return filter(version.getSnapshot(), task -> task.isScheduledOn(targetDate));
+    }
+
+    /**
+     * Returns the tasks that are scheduled on each day of the given date range.
+     * An event is listed under every day of the range that it spans.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range, not before the first.
+     * @return The days with scheduled tasks in date order, each mapped to its tasks in task list order.
+     */
+    public TreeMap<LocalDate, ArrayList<Task>> getScheduledBetweenTasks(LocalDate startDate, LocalDate endDate) {
+        assert !startDate.isAfter(endDate) : "Start date should not be after end date";
 
-        return scheduledTasks;
+        return getDateIndex().getScheduledBetween(startDate, endDate);
     }
 
-    // Checks if the given task already exists in the task list.
+    /**
+     * Returns the tasks of a pinned version that are scheduled on each day of the given date range.
+     *
+     * @param version A version pinned from this list.
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range, not before the first.
+     * @return The days with scheduled tasks in date order, each mapped to its tasks in the order of the version.
+     */
+    public TreeMap<LocalDate, ArrayList<Task>> getScheduledBetweenTasks(TaskListVersion version,
+                                                                        LocalDate startDate, LocalDate endDate) {
+        if (isCurrent(version)) {
+            return getScheduledBetweenTasks(startDate, endDate);
+        }
+
+        return scanScheduledBetween(version.getSnapshot(), startDate, endDate);
+    }
+
+    /**
+     * Returns the deadlines and events that are not done and are due or start at or after the given time.
+     * Takes O(k + log n) once the due index is built, rather than sorting the whole list.
+     *
+     * @param now The current time.
+     * @param count The largest number of tasks to return.
+     * @return The ArrayList of at most count tasks, soonest first.
+     */
+    public ArrayList<Task> getUpcomingTasks(LocalDateTime now, int count) {
+        return getDueIndex().getUpcoming(now, count);
+    }
+
+    /**
+     * Returns the deadlines that are not done and were due before the given time.
+     *
+     * @param now The current time.
+     * @return The ArrayList of overdue deadlines, most overdue first.
+     */
+    public ArrayList<Task> getOverdueTasks(LocalDateTime now) {
+        return getDueIndex().getOverdue(now);
+    }
+
+    /**
+     * Returns the events in this taskList that overlap the given event, other than the event itself.
+     * Takes logarithmic time plus the number of overlapping events once the date index is built.
+     *
+     * @param event The event to check.
+     * @return The ArrayList of overlapping events, in order of their start time.
+     */
+    public ArrayList<Event> getOverlappingEvents(Event event) {
+        return getDateIndex().getOverlapping(event);
+    }
+
+    /**
+     * Returns every pair of events in this taskList that overlap each other.
+     * The events are swept once in start order, so this takes O(n log n + k) for n events and k conflicts.
+     *
+     * @return The ArrayList of conflicts, ordered by when the later event of each pair starts.
+     */
+    public ArrayList<EventConflict> getEventConflicts() {
+        return getDateIndex().getConflicts(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns every pair of events in this taskList that overlap each other on some day of the given date range.
+     * Only the events scheduled within the range are swept.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range, not before the first.
+     * @return The ArrayList of conflicts, ordered by when the later event of each pair starts.
+     */
+    public ArrayList<EventConflict> getEventConflicts(LocalDate startDate, LocalDate endDate) {
+        assert !startDate.isAfter(endDate) : "Start date should not be after end date";
+
+        return getDateIndex().getConflicts(EpochMinutes.ofDay(startDate.toEpochDay()),
+                EpochMinutes.ofDay(endDate.toEpochDay() + 1) - 1);
+    }
+
+    // Checks every task of a snapshot in order, collecting the matches straight into the returned list.
+    ArrayList<Task> filter(List<Task> tasks, Predicate<Task> predicate) {
+        ArrayList<Task> matchedTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (predicate.test(task)) {
+                matchedTasks.add(task);
+            }
+        }
+
+        return matchedTasks;
+    }
+
+    // Groups the tasks of a snapshot scheduled within the range by day, without the date index.
+    TreeMap<LocalDate, ArrayList<Task>> scanScheduledBetween(List<Task> tasks, LocalDate startDate,
+                                                               LocalDate endDate) {
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+
+        ArrayList<Task> scheduledTasks = filter(tasks, task -> isScheduledBetween(task, startDay, endDay));
+
+        return DateIndex.groupByDay(scheduledTasks, startDate, endDate);
+    }
+
+    private static boolean isScheduledBetween(Task task, long startDay, long endDay) {
+        if (task instanceof Deadline) {
+            long byDay = ((Deadline) task).getByDay();
+            return byDay >= startDay && byDay <= endDay;
+        }
+
+        if (task instanceof Event) {
+            return ((Event) task).getFromDay() <= endDay && ((Event) task).getToDay() >= startDay;
+        }
+
+        return false;
+    }
+
+    // Name trigrams of all tasks, indexed on the first keyword search.
+    private NameIndex getNameIndex() {
+        hydrate();
+
+        if (nameIndex == null) {
+            nameIndex = new NameIndex();
+            tasks.forEach(nameIndex::add);
+        }
+
+        return nameIndex;
+    }
+
+    // Dates of all deadlines and events, indexed on the first schedule lookup.
+    private DateIndex getDateIndex() {
+        hydrate();
+
+        if (dateIndex == null) {
+            dateIndex = new DateIndex();
+            tasks.forEach(dateIndex::add);
+        }
+
+        return dateIndex;
+    }
+
+    // Due times of all tasks, indexed on the first lookup, after which the tasks report their own status changes.
+    private DueIndex getDueIndex() {
+        hydrate();
+
+        if (dueIndex == null) {
+            dueIndex = new DueIndex();
+
+            for (Task task : tasks) {
+                task.setOwner(this);
+                dueIndex.add(task);
+            }
+        }
+
+        return dueIndex;
+    }
+
+    // Adds a task appended to the end of the list to every index that has been built.
+    private void addToIndexes(Task task) {
+        task.setOwner(this);
+        task.setVersions(versions);
+
+        if (identityKeys != null) {
+            identityKeys.add(task.getIdentityKey());
+        }
+
+        if (dateIndex != null) {
+            dateIndex.add(task);
+        }
+
+        if (nameIndex != null) {
+            nameIndex.add(task);
+        }
+
+        if (statistics != null) {
+            statistics.add(task);
+        }
+
+        if (dueIndex != null) {
+            dueIndex.add(task);
+        }
+    }
+
+    // Removes a deleted task from every index that has been built.
+    private void removeFromIndexes(Task task) {
+        if (identityKeys != null) {
+            identityKeys.remove(task.getIdentityKey());
+        }
+
+        if (dateIndex != null) {
+            dateIndex.remove(task);
+        }
+
+        if (nameIndex != null) {
+            nameIndex.remove(task);
+        }
+
+        if (statistics != null) {
+            statistics.remove(task);
+        }
+
+        if (dueIndex != null) {
+            dueIndex.remove(task);
+        }
+
+        if (task.getOwner() == this) {
+            task.setOwner(null);
+        }
+    }
+
+    // Takes a snapshot of the list before the first change of a command, to be restored when it is undone.
+    // Nothing is recorded while no history is kept.
+    private void startVersion() {
+        if (history != null && pendingVersion == null) {
+            pendingVersion = new TaskHistory.Version(takeSnapshot());
+        }
+    }
+
+    private void recordAdd(Task task) {
+        if (history != null) {
+            pendingVersion.recordAdd(task);
+        }
+    }
+
+    private void recordDelete(Task task) {
+        if (history != null) {
+            pendingVersion.recordDelete(task);
+        }
+    }
+
+    private void recordToggle(Task task) {
+        if (history != null) {
+            startVersion();
+            pendingVersion.recordToggle(task);
+        }
+    }
+
+    // Changes not yet committed, which only another thread of a ConcurrentTaskList can be making, must not be
+    // dropped by restoring a version. Marks are kept on top of the restored list, but other changes are not.
+    private void checkPendingVersion() throws FickleException {
+        if (pendingVersion != null && pendingVersion.isListChanged()) {
+            throw new FickleException("Tasks are still being added or deleted. Try again once they are done.",
+                    "Time will Tell");
+        }
+    }
+
+    // Puts back a version of the list, updating the indexes for the tasks that leave and return to it.
+    private void restoreVersion(List<Task> version, List<Task> leavingTasks, List<Task> returningTasks,
+                                    boolean areReturningAppended) {
+        // A tree snapshot is shared in constant time, while an array snapshot is small enough to copy
+        tasks = OrderStatisticList.isSnapshot(version) ? OrderStatisticList.restore(version) : createBacking(version);
+        isBackingShared = false;
+        changeCount++;
+        leavingTasks.forEach(this::removeFromIndexes);
+
+        if (!areReturningAppended && !returningTasks.isEmpty()) {
+            // The ordered indexes can only add at the end of the list, so they are rebuilt on their next use
+            dateIndex = null;
+            nameIndex = null;
+            dueIndex = null;
+        }
+        returningTasks.forEach(this::addToIndexes);
+
+        if (pendingVersion != null) {
+            pendingVersion.rebase(takeSnapshot());
+        }
+    }
+
+    // Checks if the given task already exists in the task list, in constant time.
     // Throws a FickleException if there is a duplicate.
     private void checkDuplicates(Task newTask) throws FickleException {
-        boolean hasDuplicates = tasks.stream().anyMatch(task -> task.isDuplicatedTask(newTask));
+        if (identityKeys == null) {
+            identityKeys = new HashSet<>();
+            tasks.forEach(task -> identityKeys.add(task.getIdentityKey()));
+        }
+
+        // Tasks share an identity key exactly when isDuplicatedTask holds between them
+        boolean hasDuplicates = identityKeys.contains(newTask.getIdentityKey());
 
         if (hasDuplicates) {
-            throw new FickleException("Task not added as duplicate detected below:\n  " + newTask, "Shadow's Shadow");
+            throw new FickleException(getDuplicateMessage(newTask), "Shadow's Shadow");
+        }
+    }
+
+    // Positional operations take O(log n) in a tree, so deleting from the front of a large list is cheap.
+    private List<Task> createBacking(List<Task> tasks) {
+        if (tasks.size() >= TREE_BACKING_MIN_SIZE) {
+            return new OrderStatisticList<>(tasks);
+        }
+
+        return new ArrayList<>(tasks);
+    }
+
+    // Shares a tree backing, or marks an array backing as shared so that it is copied before it next changes.
+    private List<Task> takeSnapshot() {
+        hydrate();
+
+        if (tasks instanceof OrderStatisticList) {
+            return ((OrderStatisticList<Task>) tasks).snapshot();
+        }
+
+        isBackingShared = true;
+        return Collections.unmodifiableList(tasks);
+    }
+
+    // Copies an array backing that a snapshot still reads. A tree backing copies only the nodes it changes.
+    private void prepareBackingForChange() {
+        if (isBackingShared) {
+            tasks = new ArrayList<>(tasks);
+            isBackingShared = false;
+        }
+    }
+
+    // Counts every task once, after which the tasks report their own status changes.
+    private TaskStatistics getLiveStatistics() {
+        hydrate();
+
+        if (statistics == null) {
+            statistics = new TaskStatistics();
+
+            for (Task task : tasks) {
+                task.setOwner(this);
+                statistics.add(task);
+            }
+        }
+
+        return statistics;
+    }
+
+    // Constructs the task at the index if it has not been constructed yet.
+    private synchronized Task materialize(int index) {
+        Task task = tasks.get(index);
+
+        if (task == null && lazySource != null) {
+            task = lazySource.loadTask(index);
+            task.setOwner(this);
+            task.setVersions(versions);
+            tasks.set(index, task);
+        }
+
+        return task;
+    }
+
+    // Constructs every remaining task. Operations that need the whole list, or change positions, call this first.
+    private void hydrate() {
+        if (lazySource == null) {
+            return;
+        }
+
+        synchronized (this) {
+            for (int i = 0; i < tasks.size() && lazySource != null; i++) {
+                materialize(i);
+            }
+
+            lazySource = null;
+        }
+    }
+
+    private void hydrateInBackground() {
+        for (int start = 0; lazySource != null; start += HYDRATION_BATCH_SIZE) {
+            synchronized (this) {
+                int end = Math.min(start + HYDRATION_BATCH_SIZE, tasks.size());
+
+                for (int i = start; i < end && lazySource != null; i++) {
+                    materialize(i);
+                }
+
+                if (end == tasks.size()) {
+                    lazySource = null;
+                }
+            }
         }
     }
 }
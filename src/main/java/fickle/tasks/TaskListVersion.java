@@ -0,0 +1,138 @@
+package fickle.tasks;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents a version of a task list that is pinned for a long read, such as listing or saving every task.
+ * The tasks of the version are a snapshot that later changes to the list do not affect, and each task keeps the
+ * status it had when the version was pinned even if it is marked or unmarked afterwards. Neither pinning nor
+ * reading a version waits for changes to the list, and changes never wait for readers.
+ * The earlier statuses are kept only until every version that may read them is closed.
+ */
+public class TaskListVersion implements AutoCloseable {
+    private final VersionRegistry registry;
+    private volatile long version;
+    private List<Task> tasks;
+    private long changeCount;
+
+    /**
+     * Constructor for a pin that has been registered but has not yet read its version.
+     *
+     * @param registry The registry of the list that the version is pinned from.
+     */
+    TaskListVersion(VersionRegistry registry) {
+        this.registry = registry;
+        this.version = VersionRegistry.PINNING;
+    }
+
+    /**
+     * Completes a registered pin.
+     *
+     * @param tasks The snapshot of the tasks in the version.
+     * @param version The latest version when the snapshot was taken.
+     * @param changeCount The number of changes that the list had made to its tasks when the snapshot was taken.
+     */
+    void pin(List<Task> tasks, long version, long changeCount) {
+        this.tasks = tasks;
+        this.changeCount = changeCount;
+        this.version = version;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    List<Task> getSnapshot() {
+        return tasks;
+    }
+
+    long getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Returns the tasks of this version, each with the status it had in this version.
+     * A task whose status changed after the pin is read as a copy with its earlier status, so marking such a
+     * copy does not change the list. Every other task is the task in the list itself, so its status should be
+     * read as it is returned, as a change made after that shows through it.
+     *
+     * @return The tasks of the version, which must not be used after the version is closed.
+     */
+    public List<Task> getTasks() {
+        return freeze(tasks);
+    }
+
+    /**
+     * Returns the given tasks, such as those found by a query, each with the status it had in this version.
+     *
+     * @param tasks The tasks to be read.
+     * @return The tasks as they were in this version, which must not be used after the version is closed.
+     */
+    public List<Task> freeze(List<Task> tasks) {
+        return new FrozenTasks(tasks, version);
+    }
+
+    /**
+     * Unpins this version, and cuts off the earlier statuses that no other pinned version needs.
+     */
+    @Override
+    public void close() {
+        registry.unpin(this);
+    }
+
+    // Reads through the iterator and sub-lists of the given tasks, as a tree snapshot is slower to index into
+    private static class FrozenTasks extends AbstractList<Task> {
+        private final List<Task> tasks;
+        private final long version;
+
+        FrozenTasks(List<Task> tasks, long version) {
+            this.tasks = tasks;
+            this.version = version;
+        }
+
+        @Override
+        public Task get(int index) {
+            return freeze(tasks.get(index));
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            Iterator<Task> taskIterator = tasks.iterator();
+
+            return new Iterator<Task>() {
+                @Override
+                public boolean hasNext() {
+                    return taskIterator.hasNext();
+                }
+
+                @Override
+                public Task next() {
+                    return freeze(taskIterator.next());
+                }
+            };
+        }
+
+        @Override
+        public List<Task> subList(int fromIndex, int toIndex) {
+            return new FrozenTasks(tasks.subList(fromIndex, toIndex), version);
+        }
+
+        @Override
+        public int size() {
+            return tasks.size();
+        }
+
+        // Only a task whose status changed after the pin is copied, so most reads allocate nothing
+        private Task freeze(Task task) {
+            TaskStatus status = task.getStatus();
+
+            if (status.getVersion() <= version) {
+                return task;
+            }
+
+            return task.withStatus(status.at(version).isDone());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package fickle.tasks;
+
+import java.util.List;
+
+import fickle.exceptions.FickleException;
+
+/**
+ * Represents one page of a list of tasks, as a view of only the tasks on that page.
+ * Taking and showing a page costs time in proportion to the page size, not to the size of the whole list.
+ */
+public class TaskPage {
+    private final List<Task> tasks;
+    private final int pageNumber;
+    private final int pageCount;
+    private final int firstTaskNumber;
+    private final int totalCount;
+
+    private TaskPage(List<Task> tasks, int pageNumber, int pageCount, int firstTaskNumber, int totalCount) {
+        this.tasks = tasks;
+        this.pageNumber = pageNumber;
+        this.pageCount = pageCount;
+        this.firstTaskNumber = firstTaskNumber;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Returns a single page holding all of the given tasks.
+     *
+     * @param allTasks The tasks to show.
+     * @return The page of all tasks.
+     */
+    public static TaskPage of(List<Task> allTasks) {
+        return new TaskPage(allTasks, 1, 1, 1, allTasks.size());
+    }
+
+    /**
+     * Returns the given page of the tasks, when they are split into pages of the given size.
+     * An empty list has a single, empty page.
+     *
+     * @param allTasks The tasks to split into pages, which must not change while the page is in use.
+     * @param pageNumber The page to return, starting from 1.
+     * @param pageSize The number of tasks on each page.
+     * @return The page, viewing only the tasks on it.
+     * @throws FickleException If there is no page with the given number.
+     */
+    public static TaskPage of(List<Task> allTasks, int pageNumber, int pageSize) throws FickleException {
+        assert pageSize > 0 : "Page size should be positive";
+
+        int totalCount = allTasks.size();
+        int pageCount = Math.max(1, (int) ((totalCount + (long) pageSize - 1) / pageSize));
+
+        if (pageNumber < 1 || pageNumber > pageCount) {
+            String pages = (pageCount == 1) ? "only 1 page" : "only " + pageCount + " pages";
+            throw new FickleException("Page " + pageNumber + " does not exist. There are " + pages + ".",
+                                            "Out of Nothing");
+        }
+
+        int from = (int) Math.min((long) (pageNumber - 1) * pageSize, totalCount);
+        int to = (int) Math.min((long) from + pageSize, totalCount);
+
+        return new TaskPage(allTasks.subList(from, to), pageNumber, pageCount, from + 1, totalCount);
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Returns the position of the first task on this page among all the tasks, starting from 1.
+     *
+     * @return The number of the first task on the page.
+     */
+    public int getFirstTaskNumber() {
+        return firstTaskNumber;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+}
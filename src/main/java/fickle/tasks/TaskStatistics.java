@@ -0,0 +1,110 @@
+package fickle.tasks;
+
+/**
+ * Represents the number of tasks in a task list, in total and by type, and how many of them are done.
+ */
+public class TaskStatistics {
+    private static final int TODO = 0;
+    private static final int DEADLINE = 1;
+    private static final int EVENT = 2;
+
+    private final int[] counts;
+    private final int[] doneCounts;
+
+    /**
+     * Constructor for TaskStatistics with every count at zero.
+     */
+    TaskStatistics() {
+        this.counts = new int[3];
+        this.doneCounts = new int[3];
+    }
+
+    /**
+     * Constructor for a copy of the given statistics, which is not affected by later changes.
+     *
+     * @param other The statistics to copy.
+     */
+    TaskStatistics(TaskStatistics other) {
+        this.counts = other.counts.clone();
+        this.doneCounts = other.doneCounts.clone();
+    }
+
+    /**
+     * Counts a task that was added to the list.
+     *
+     * @param task The task that was added.
+     */
+    void add(Task task) {
+        counts[getType(task)]++;
+
+        if (task.isDone()) {
+            doneCounts[getType(task)]++;
+        }
+    }
+
+    /**
+     * Stops counting a task that was deleted from the list.
+     *
+     * @param task The task that was deleted.
+     */
+    void remove(Task task) {
+        counts[getType(task)]--;
+
+        if (task.isDone()) {
+            doneCounts[getType(task)]--;
+        }
+    }
+
+    /**
+     * Updates the done counts after a task in the list was marked or unmarked.
+     *
+     * @param task The task whose status changed.
+     */
+    void changeStatus(Task task) {
+        doneCounts[getType(task)] += task.isDone() ? 1 : -1;
+    }
+
+    private static int getType(Task task) {
+        if (task instanceof Deadline) {
+            return DEADLINE;
+        }
+
+        if (task instanceof Event) {
+            return EVENT;
+        }
+
+        return TODO;
+    }
+
+    public int getTotalCount() {
+        return counts[TODO] + counts[DEADLINE] + counts[EVENT];
+    }
+
+    public int getDoneCount() {
+        return doneCounts[TODO] + doneCounts[DEADLINE] + doneCounts[EVENT];
+    }
+
+    public int getTodoCount() {
+        return counts[TODO];
+    }
+
+    public int getDoneTodoCount() {
+        return doneCounts[TODO];
+    }
+
+    public int getDeadlineCount() {
+        return counts[DEADLINE];
+    }
+
+    public int getDoneDeadlineCount() {
+        return doneCounts[DEADLINE];
+    }
+
+    public int getEventCount() {
+        return counts[EVENT];
+    }
+
+    public int getDoneEventCount() {
+        return doneCounts[EVENT];
+    }
+}
@@ -0,0 +1,83 @@
+package fickle.tasks;
+
+/**
+ * Represents the completion status of a task from a given version onwards, linked to the status it replaced.
+ * The earlier statuses are only kept while a pinned {@link TaskListVersion} may still read them, so a task
+ * that no pinned version needs the history of shares one of two statuses with every other task.
+ */
+final class TaskStatus {
+    static final TaskStatus NOT_DONE = new TaskStatus(false, 0, null);
+    static final TaskStatus DONE = new TaskStatus(true, 0, null);
+
+    private final boolean isDone;
+    private final long version;
+    // Volatile as it is cut off by whichever thread unpins the last version that needed it
+    private volatile TaskStatus previous;
+
+    /**
+     * Constructor for TaskStatus.
+     *
+     * @param isDone Whether the task is done.
+     * @param version The version that made this change.
+     * @param previous The status that this one replaces.
+     */
+    TaskStatus(boolean isDone, long version, TaskStatus previous) {
+        this.isDone = isDone;
+        this.version = version;
+        this.previous = previous;
+    }
+
+    /**
+     * Returns the shared status without history.
+     *
+     * @param isDone Whether the task is done.
+     * @return The shared status.
+     */
+    static TaskStatus of(boolean isDone) {
+        return isDone ? DONE : NOT_DONE;
+    }
+
+    boolean isDone() {
+        return isDone;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the status that the task had in the given version.
+     *
+     * @param pinnedVersion A version that was pinned before its history was cut off.
+     * @return The latest status made in or before that version.
+     */
+    TaskStatus at(long pinnedVersion) {
+        TaskStatus status = this;
+
+        while (status.version > pinnedVersion) {
+            status = status.previous;
+        }
+
+        return status;
+    }
+
+    /**
+     * Cuts off the statuses that no version from the given one onwards can read.
+     *
+     * @param horizon The oldest version that may still be read.
+     * @return True if this status still keeps an earlier one.
+     */
+    boolean trim(long horizon) {
+        TaskStatus status = this;
+
+        while (status != null && status.version > horizon) {
+            status = status.previous;
+        }
+
+        if (status != null) {
+            status.previous = null;
+        }
+
+        return previous != null;
+    }
+}
@@ -15,6 +15,10 @@ public class Todo extends Task {
         super(name);
     }
 
+    private Todo(Todo other, boolean isDone) {
+        super(other, isDone);
+    }
+
     /**
     * Returns false by default as Todo task does not have a date.
     *
@@ -42,6 +46,31 @@ public class Todo extends Task {
         return isSameName;
     }
 
+    /**
+     * Returns the identity key of the todo task.
+     *
+     * @return The key with taskType and name.
+     */
+    @Override
+    public String getIdentityKey() {
+        return toIdentityKey(getName());
+    }
+
+    /**
+     * Returns the identity key that a todo task with the given name has, without constructing the task.
+     *
+     * @param name The name of the todo task.
+     * @return The key with taskType and name.
+     */
+    public static String toIdentityKey(String name) {
+        return "T | " + name;
+    }
+
+    @Override
+    Todo withStatus(boolean isDone) {
+        return new Todo(this, isDone);
+    }
+
     /**
      * Returns the string representation of the todo task.
      *
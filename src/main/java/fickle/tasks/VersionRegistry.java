@@ -0,0 +1,111 @@
+package fickle.tasks;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numbers the status changes of the tasks in one list, and keeps track of the versions pinned from the list so
+ * that the earlier statuses are kept only while one of them may still read them.
+ * A list and its copies share one registry, so a task keeps its history when it moves between them.
+ */
+final class VersionRegistry {
+    // Version of a pin that has been registered but has not yet read the latest version
+    static final long PINNING = -1;
+
+    private final Set<TaskListVersion> pinnedVersions;
+    // Tasks whose status still links to earlier statuses, which are cut off once no pinned version needs them
+    private final Set<Task> versionedTasks;
+    // Status changes are numbered and made visible in order, so that a version sees exactly those up to its own
+    private final Object commitLock;
+    private volatile long latestVersion;
+
+    /**
+     * Constructor for a VersionRegistry without any pinned versions.
+     */
+    VersionRegistry() {
+        this.pinnedVersions = ConcurrentHashMap.newKeySet();
+        this.versionedTasks = ConcurrentHashMap.newKeySet();
+        this.commitLock = new Object();
+    }
+
+    /**
+     * Registers a new pin, before the version it pins is read, so that no status it needs is cut off meanwhile.
+     *
+     * @return The registered pin, which must be completed by {@link TaskListVersion#pin(java.util.List, long, long)}.
+     */
+    TaskListVersion register() {
+        TaskListVersion pinnedVersion = new TaskListVersion(this);
+        pinnedVersions.add(pinnedVersion);
+        return pinnedVersion;
+    }
+
+    long getLatestVersion() {
+        return latestVersion;
+    }
+
+    /**
+     * Changes the status of a task as the next version.
+     * Must be called while holding the lock of the task, so that only one thread changes its status at a time.
+     *
+     * @param task The task whose status changes.
+     * @param isDone The new status.
+     */
+    void commitStatus(Task task, boolean isDone) {
+        TaskStatus status;
+
+        synchronized (commitLock) {
+            status = new TaskStatus(isDone, latestVersion + 1, task.getStatus());
+            task.setStatus(status);
+            latestVersion = status.getVersion();
+        }
+
+        trim(task, status, getHorizon());
+    }
+
+    /**
+     * Unpins a version, and cuts off the earlier statuses that no other pinned version needs.
+     *
+     * @param pinnedVersion The version to unpin.
+     */
+    void unpin(TaskListVersion pinnedVersion) {
+        if (!pinnedVersions.remove(pinnedVersion)) {
+            return;
+        }
+
+        long horizon = getHorizon();
+
+        for (Task task : versionedTasks) {
+            // Removed first, so that a task changed meanwhile is added back by the change rather than lost
+            versionedTasks.remove(task);
+            trim(task, task.getStatus(), horizon);
+        }
+    }
+
+    // Cuts off the statuses of a task that no version from the horizon onwards can read, and goes back to a shared
+    // status once none are left. A change made meanwhile replaces the status first and trims its own history.
+    private void trim(Task task, TaskStatus status, long horizon) {
+        if (status.getVersion() <= horizon) {
+            task.compareAndSetStatus(status, TaskStatus.of(status.isDone()));
+        } else if (status.trim(horizon)) {
+            versionedTasks.add(task);
+        }
+    }
+
+    // Returns the oldest version that a pinned version may read, or PINNING if a pin has yet to read its version.
+    // The latest version is read first, so a pin registered after the scan has a version no older than it.
+    private long getHorizon() {
+        long horizon = latestVersion;
+
+        for (TaskListVersion pinnedVersion : pinnedVersions) {
+            long version = pinnedVersion.getVersion();
+
+            if (version == PINNING) {
+                return PINNING;
+            }
+
+            horizon = Math.min(horizon, version);
+        }
+
+        return horizon;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 
 import fickle.Fickle;
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -49,6 +50,10 @@ public class MainWindow extends AnchorPane {
     public void setFickle(Fickle fickle) {
         this.fickle = fickle;
 
+        // Saves may fail on the storage writer thread, so their messages are displayed on the JavaFX thread
+        fickle.setSaveFailureListener(messages -> Platform.runLater(() -> dialogContainer.getChildren()
+                                        .add(DialogBox.getFickleDialog(messages, fickleImage))));
+
         // Runs fickle to get initial welcome messages
         ArrayList<String[]> welcomeMessages = fickle.run();
 
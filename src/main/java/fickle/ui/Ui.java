@@ -1,34 +1,48 @@
 package fickle.ui;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
 import java.util.stream.IntStream;
 
+import fickle.tasks.Event;
+import fickle.tasks.EventConflict;
 import fickle.tasks.Task;
 import fickle.tasks.TaskList;
+import fickle.tasks.TaskPage;
+import fickle.tasks.TaskStatistics;
 
 /**
  * UI class for handling user interactions.
  */
 public class Ui {
-    private String[] outputMessages;
+    // Locale.ENGLISH ensures that day and month names are in English
+    private static final DateTimeFormatter DAY_DISPLAY_FORMAT = DateTimeFormatter
+                                    .ofPattern("EEE, MMM dd yyyy", Locale.ENGLISH);
+
+    // Kept per thread, so that several clients sharing one Ui each get back the output of their own command
+    private final ThreadLocal<String[]> outputMessages;
 
     /**
      * Constructor for Ui.
      */
     public Ui() {
-        outputMessages = new String[] { "", "" };
+        outputMessages = ThreadLocal.withInitial(() -> new String[] { "", "" });
     }
 
     /**
-     * Returns output messages represented by [mainMessage, specialMessage].
+     * Returns output messages represented by [mainMessage, specialMessage], as last set on the calling thread.
      *
      * @return A string array of output messages.
      */
     public String[] getOutput() {
-        assert outputMessages.length == 2 : "outputMessages should contain exactly 2 elements";
+        assert outputMessages.get().length == 2 : "outputMessages should contain exactly 2 elements";
 
-        return outputMessages;
+        return outputMessages.get();
     }
 
     /**
@@ -72,16 +86,35 @@ public class Ui {
         assert taskname != null && !taskname.isEmpty() : "Name of the task added should not be null, nor empty";
         assert totalTasks >= 1 : "totalTasks should be at least 1 when a task is added";
 
-        String taskAddedMessage = "Got it. I've added this task: \n  " + taskname + "\n\n";
-        String totalTasksMessage = "Now you have " + totalTasks + " task" + ((totalTasks == 1) ? "" : "s")
-                                        + " in the list.";
-
-        String mainMessage = taskAddedMessage + totalTasksMessage;
+        String mainMessage = getAddedTaskMessage(taskname, totalTasks);
         String specialMessage = "Still Early";
 
         setOutputMessage(mainMessage, specialMessage);
     }
 
+    /**
+     * Sets the added event message, warning of the events that it overlaps.
+     *
+     * @param taskname The name of the added event.
+     * @param totalTasks Total number of tasks after adding the event.
+     * @param overlappingEvents The other events that overlap the added event.
+     */
+    public void printAddedEvent(String taskname, int totalTasks, List<Event> overlappingEvents) {
+        if (overlappingEvents.isEmpty()) {
+            printAddedTask(taskname, totalTasks);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder(getAddedTaskMessage(taskname, totalTasks));
+        sb.append("\n\nHeads up! It overlaps with:");
+
+        for (Event event : overlappingEvents) {
+            sb.append("\n  " + event.toString());
+        }
+
+        setOutputMessage(sb.toString(), "Confuses me, Contradiction");
+    }
+
     /**
      * Sets the deleted task message.
      *
@@ -103,6 +136,22 @@ public class Ui {
         setOutputMessage(mainMessage, specialMessage);
     }
 
+    /**
+     * Sets the message for several tasks deleted at once.
+     *
+     * @param deletedTasks The deleted tasks, in the order they were in the list.
+     * @param totalTasks Total number of tasks after the tasks were deleted.
+     */
+    public void printDeletedTasks(List<Task> deletedTasks, int totalTasks) {
+        assert !deletedTasks.isEmpty() : "At least one task should be deleted";
+        assert totalTasks >= 0 : "totalTasks cannot be negative";
+
+        String tasksRemovedMessage = "Noted. I've removed these " + deletedTasks.size() + " tasks:"
+                                        + formatTaskLines(deletedTasks) + "\n\n";
+
+        setOutputMessage(tasksRemovedMessage + getTotalTasksMessage(totalTasks), "It's Gone");
+    }
+
     /**
      * Sets the marked task message.
      *
@@ -115,12 +164,25 @@ public class Ui {
         setOutputMessage(mainMessage, specialMessage);
     }
 
+    /**
+     * Sets the message for several tasks marked as done at once.
+     *
+     * @param markedTasks The tasks that were marked, in list order.
+     * @param skippedCount The number of selected tasks that were already marked.
+     */
+    public void printMarkedTasks(List<Task> markedTasks, int skippedCount) {
+        String mainMessage = "All set. " + getTaskCountPhrase(markedTasks.size()) + " marked as done:"
+                                + formatTaskLines(markedTasks) + getSkippedMessage(skippedCount, "marked");
+
+        setOutputMessage(mainMessage, "One After Another");
+    }
+
     /**
     * Appends a congratulatory message when all tasks are marked as done.
     */
     public void printAllTasksMarked() {
         // Append to existing mainMessage
-        String currentMainMessage = outputMessages[0];
+        String currentMainMessage = outputMessages.get()[0];
         String newLine = "\n\nCongratulations! All tasks are completed!";
         String updatedMainMessage = currentMainMessage + newLine;
 
@@ -142,20 +204,66 @@ public class Ui {
         setOutputMessage(mainMessage, specialMessage);
     }
 
+    /**
+     * Sets the message for several tasks unmarked at once.
+     *
+     * @param unmarkedTasks The tasks that were unmarked, in list order.
+     * @param skippedCount The number of selected tasks that were already unmarked.
+     */
+    public void printUnmarkedTasks(List<Task> unmarkedTasks, int skippedCount) {
+        String mainMessage = "Noted. " + getTaskCountPhrase(unmarkedTasks.size()) + " now unmarked:"
+                                + formatTaskLines(unmarkedTasks) + getSkippedMessage(skippedCount, "unmarked");
+
+        setOutputMessage(mainMessage, "Pace Yourself");
+    }
+
+    /**
+     * Sets the undone command message.
+     *
+     * @param description The command that was undone, as the user entered it.
+     * @param totalTasks Total number of tasks after the command was undone.
+     */
+    public void printUndoneCommand(String description, int totalTasks) {
+        String mainMessage = "Done. I've undone '" + description + "'.\n\n" + getTotalTasksMessage(totalTasks);
+        String specialMessage = "Back to the Start";
+
+        setOutputMessage(mainMessage, specialMessage);
+    }
+
+    /**
+     * Sets the redone command message.
+     *
+     * @param description The command that was redone, as the user entered it.
+     * @param totalTasks Total number of tasks after the command was redone.
+     */
+    public void printRedoneCommand(String description, int totalTasks) {
+        String mainMessage = "Done. I've redone '" + description + "'.\n\n" + getTotalTasksMessage(totalTasks);
+        String specialMessage = "One After Another";
+
+        setOutputMessage(mainMessage, specialMessage);
+    }
+
     /**
      * Prepares the list of tasks for display.
      *
      * @param tasks The tasklist to be printed.
      */
     public void printTaskList(TaskList tasks) {
+        printTaskList(TaskPage.of(tasks.getSnapshot()));
+    }
 
-        String header = "Here's your task list for you:";
+    /**
+     * Prepares a page of the list of tasks for display.
+     *
+     * @param page The page of the tasklist to be printed.
+     */
+    public void printTaskList(TaskPage page) {
+        String header = "Here's your task list for you" + getPageLabel(page) + ":";
         String emptyMainString = "No tasks remaining in your task list.";
         String emptySpecialString = "A Little Happiness";
         String nonEmptySpecialMsg = "Glimpses of a Journey";
-        ArrayList<Task> allTasks = tasks.getAllTasks();
 
-        prepareTaskList(allTasks, header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
+        prepareTaskList(page, header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
     }
 
     /**
@@ -165,12 +273,37 @@ public class Ui {
      * @param matchedTasks The list of tasks that match the keyword.
      */
     public void printMatchedTaskList(String keyword, ArrayList<Task> matchedTasks) {
-        String header = "Here are the matching tasks for [" + keyword + "] in your list:";
+        printMatchedTaskList(keyword, TaskPage.of(matchedTasks));
+    }
+
+    /**
+     * Prepares a page of the list of tasks that match the keyword for display.
+     *
+     * @param keyword The keyword to search for tasks.
+     * @param page The page of the list of tasks that match the keyword.
+     */
+    public void printMatchedTaskList(String keyword, TaskPage page) {
+        String header = "Here are the matching tasks for [" + keyword + "] in your list" + getPageLabel(page) + ":";
         String emptyMainString = "Sorry, no tasks found matching [" + keyword + "].";
         String emptySpecialString = "Out of Nothing";
         String nonEmptySpecialMsg = "Hidden Love";
 
-        prepareTaskList(matchedTasks, header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
+        prepareTaskList(page, header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
+    }
+
+    /**
+     * Prepares the list of tasks that closely match the keyword for display.
+     *
+     * @param keyword The keyword to search for tasks.
+     * @param matchedTasks The closest matching tasks, closest first.
+     */
+    public void printFuzzyMatchedTaskList(String keyword, List<Task> matchedTasks) {
+        String header = "Here are the closest matches for [" + keyword + "] in your list:";
+        String emptyMainString = "Sorry, nothing close to [" + keyword + "] found.";
+        String emptySpecialString = "Out of Nothing";
+        String nonEmptySpecialMsg = "Hidden Love";
+
+        prepareTaskList(TaskPage.of(matchedTasks), header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
     }
 
     /**
@@ -180,12 +313,122 @@ public class Ui {
      * @param scheduledTasks The list of tasks that occur on the date.
      */
     public void printScheduledTaskList(LocalDate date, ArrayList<Task> scheduledTasks) {
-        String header = "Here are the tasks scheduled on " + date + ":";
+        printScheduledTaskList(date, TaskPage.of(scheduledTasks));
+    }
+
+    /**
+     * Prepares a page of the list of tasks that are scheduled on the given date for display.
+     *
+     * @param date The target date to search for tasks.
+     * @param page The page of the list of tasks that occur on the date.
+     */
+    public void printScheduledTaskList(LocalDate date, TaskPage page) {
+        String header = "Here are the tasks scheduled on " + date + getPageLabel(page) + ":";
         String emptyMainString = "No tasks scheduled on " + date + ".";
         String emptySpecialString = "A Little Happiness";
         String nonEmptySpecialMsg = "Live in Life";
 
-        prepareTaskList(scheduledTasks, header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
+        prepareTaskList(page, header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
+    }
+
+    /**
+     * Prepares the list of upcoming deadlines and events for display.
+     *
+     * @param upcomingTasks The deadlines and events that are not done, soonest first.
+     */
+    public void printUpcomingTaskList(ArrayList<Task> upcomingTasks) {
+        String header = "Here's what is coming up next:";
+        String emptyMainString = "Nothing coming up. No deadlines or events ahead that are not done.";
+        String emptySpecialString = "A Little Happiness";
+        String nonEmptySpecialMsg = "Time will Tell";
+
+        prepareTaskList(TaskPage.of(upcomingTasks), header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
+    }
+
+    /**
+     * Prepares the list of overdue deadlines for display.
+     *
+     * @param overdueTasks The deadlines that are past due and not done, most overdue first.
+     */
+    public void printOverdueTaskList(ArrayList<Task> overdueTasks) {
+        String header = "These deadlines have passed and are not done yet:";
+        String emptyMainString = "No overdue deadlines. You're all caught up!";
+        String emptySpecialString = "A Little Happiness";
+        String nonEmptySpecialMsg = "Missing You";
+
+        prepareTaskList(TaskPage.of(overdueTasks), header, emptyMainString, emptySpecialString, nonEmptySpecialMsg);
+    }
+
+    /**
+     * Prepares the pairs of events that overlap each other for display.
+     *
+     * @param conflicts The overlapping pairs of events.
+     */
+    public void printEventConflicts(List<EventConflict> conflicts) {
+        prepareEventConflicts(conflicts, "Here are the events that overlap each other:",
+                "No events overlap each other.");
+    }
+
+    /**
+     * Prepares the pairs of events that overlap each other on some day of a date range for display.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @param conflicts The pairs of events that overlap within the range.
+     */
+    public void printEventConflicts(LocalDate startDate, LocalDate endDate, List<EventConflict> conflicts) {
+        prepareEventConflicts(conflicts, "Here are the events that overlap from " + startDate + " to " + endDate + ":",
+                "No events overlap from " + startDate + " to " + endDate + ".");
+    }
+
+    /**
+     * Prepares the tasks scheduled on each day of a date range for display, grouped by day.
+     *
+     * @param startDate The first date of the range.
+     * @param endDate The last date of the range.
+     * @param tasksByDay The days with scheduled tasks in date order, each mapped to its tasks.
+     */
+    public void printScheduledTaskList(LocalDate startDate, LocalDate endDate,
+                                    SortedMap<LocalDate, List<Task>> tasksByDay) {
+        if (tasksByDay.isEmpty()) {
+            setOutputMessage("No tasks scheduled from " + startDate + " to " + endDate + ".", "A Little Happiness");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Here are the tasks scheduled from " + startDate + " to " + endDate + ": \n");
+
+        for (Map.Entry<LocalDate, List<Task>> day : tasksByDay.entrySet()) {
+            sb.append("\n" + day.getKey().format(DAY_DISPLAY_FORMAT) + ":\n");
+
+            int taskNumber = 1;
+            for (Task task : day.getValue()) {
+                sb.append("  " + taskNumber++ + ". " + task.toString() + "\n");
+            }
+        }
+
+        setOutputMessage(sb.toString().trim(), "Live in Life");
+    }
+
+    /**
+     * Prepares the task list statistics for display.
+     *
+     * @param statistics The number of tasks in total and by type, and how many of them are done.
+     */
+    public void printStatistics(TaskStatistics statistics) {
+        if (statistics.getTotalCount() == 0) {
+            setOutputMessage("No tasks in your task list yet.", "Out of Nothing");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Here are the statistics of your task list: \n\n");
+        sb.append("Total: " + statistics.getDoneCount() + "/" + statistics.getTotalCount() + " done\n");
+        sb.append("Todos: " + statistics.getDoneTodoCount() + "/" + statistics.getTodoCount() + " done\n");
+        sb.append("Deadlines: " + statistics.getDoneDeadlineCount() + "/" + statistics.getDeadlineCount() + " done\n");
+        sb.append("Events: " + statistics.getDoneEventCount() + "/" + statistics.getEventCount() + " done");
+
+        setOutputMessage(sb.toString(), "Glimpses of a Journey");
     }
 
     /**
@@ -213,10 +456,30 @@ public class Ui {
         setOutputMessage(mainMessage, specialMessage);
     }
 
-    // Prepares a task list for display with a main and special message.
-    private void prepareTaskList(ArrayList<Task> tasks, String header, String emptyMainMsg, String emptySpecialMsg,
+    // Prepares a numbered list of overlapping pairs of events for display.
+    private void prepareEventConflicts(List<EventConflict> conflicts, String header, String emptyMainMsg) {
+        if (conflicts.isEmpty()) {
+            setOutputMessage(emptyMainMsg, "A Little Happiness");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(header + " \n");
+
+        int conflictNumber = 1;
+        for (EventConflict conflict : conflicts) {
+            sb.append("\n" + conflictNumber++ + ". " + conflict.getFirst().toString() + "\n");
+            sb.append("   overlaps " + conflict.getSecond().toString() + "\n");
+        }
+
+        setOutputMessage(sb.toString().trim(), "Confuses me, Contradiction");
+    }
+
+    // Prepares a page of a task list for display with a main and special message.
+    // Only the tasks on the page are formatted.
+    private void prepareTaskList(TaskPage page, String header, String emptyMainMsg, String emptySpecialMsg,
                                     String nonEmptySpecialMsg) {
-        if (tasks.isEmpty()) {
+        if (page.getTotalCount() == 0) {
             setOutputMessage(emptyMainMsg, emptySpecialMsg);
             return;
         }
@@ -224,14 +487,60 @@ public class Ui {
         StringBuilder sb = new StringBuilder();
         sb.append(header + " \n\n");
 
-        for (int i = 0; i < tasks.size(); i++) {
-            sb.append((i + 1) + ". " + tasks.get(i).toString() + "\n");
+        int taskNumber = page.getFirstTaskNumber();
+        for (Task task : page.getTasks()) {
+            sb.append(taskNumber++ + ". " + task.toString() + "\n");
         }
 
         String mainMessage = sb.toString().trim();
         setOutputMessage(mainMessage, nonEmptySpecialMsg);
     }
 
+    // Returns the page position to add to a header, or nothing if every task fits on one page.
+    private static String getPageLabel(TaskPage page) {
+        if (page.getPageCount() == 1) {
+            return "";
+        }
+
+        int lastTaskNumber = page.getFirstTaskNumber() + page.getTasks().size() - 1;
+        return " (page " + page.getPageNumber() + " of " + page.getPageCount() + ", tasks "
+                + page.getFirstTaskNumber() + "-" + lastTaskNumber + " of " + page.getTotalCount() + ")";
+    }
+
+    // Returns each task on its own indented line, with a line break before each.
+    private static String formatTaskLines(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+
+        for (Task task : tasks) {
+            sb.append("\n  ").append(task.toString());
+        }
+
+        return sb.toString();
+    }
+
+    private static String getAddedTaskMessage(String taskname, int totalTasks) {
+        return "Got it. I've added this task: \n  " + taskname + "\n\n" + getTotalTasksMessage(totalTasks);
+    }
+
+    private static String getTotalTasksMessage(int totalTasks) {
+        return "Now you have " + totalTasks + " task" + ((totalTasks == 1) ? "" : "s") + " in the list.";
+    }
+
+    // Returns the start of a sentence about the given number of tasks.
+    private static String getTaskCountPhrase(int taskCount) {
+        return (taskCount == 1) ? "This task is" : "These " + taskCount + " tasks are";
+    }
+
+    // Returns a note on how many selected tasks were left as they were, or nothing if there were none.
+    private static String getSkippedMessage(int skippedCount, String status) {
+        if (skippedCount == 0) {
+            return "";
+        }
+
+        return "\n\n" + skippedCount + " other task" + ((skippedCount == 1) ? " was" : "s were") + " already "
+                + status + ".";
+    }
+
     /**
     * Prepares the list of all the warnings caused by corrupted lines for display.
     *
@@ -276,6 +585,21 @@ public class Ui {
         setOutputMessage(mainMessage, specialMessage);
     }
 
+    /**
+     * Returns an error message for a save that failed after its command had already completed.
+     * Does not change the current output, as it may be called while another command is running.
+     *
+     * @param exceptionMessage The description of the file operation failure.
+     * @return A string array of [mainMessage, specialMessage].
+     */
+    public String[] getSaveFailureMessages(String exceptionMessage) {
+        String mainMessage = "[Load/Save Error] " + exceptionMessage
+                                        + "\nYour latest changes may not be saved.";
+        String specialMessage = "";
+
+        return new String[] { mainMessage, specialMessage };
+    }
+
     /**
      * Sets an error message.
      *
@@ -290,6 +614,6 @@ public class Ui {
 
     // Updates the outputMessages to be displayed.
     private void setOutputMessage(String mainMessage, String specialMessage) {
-        outputMessages = new String[] { mainMessage, specialMessage };
+        outputMessages.set(new String[] { mainMessage, specialMessage });
     }
 }
@@ -1,9 +1,12 @@
 package fickle.commands;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import fickle.exceptions.FickleException;
@@ -43,4 +46,24 @@ public class MarkCommandTest {
             assertEquals("There are no tasks left to mark.", e.getMessage());
         }
     }
+
+    @Test
+    public void markCommand_overlappingRangesWithMarkedTask_othersMarked() throws FickleException {
+        TaskList tasks = new TaskList();
+        Ui ui = new Ui();
+        Storage storage = new Storage("data/test.txt");
+
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new Todo("todo " + i));
+        }
+        tasks.getTask(1).markAsDone();
+
+        MarkCommand cmd = new MarkCommand(TaskSelection.ofRanges(List.of(new int[] { 0, 2 }, new int[] { 1, 3 })));
+        cmd.execute(tasks, ui, storage);
+
+        assertEquals(4, tasks.getStatistics().getDoneCount());
+        assertFalse(tasks.getTask(4).isDone());
+        assertTrue(ui.getOutput()[0].startsWith("All set. These 3 tasks are marked as done:"));
+        assertTrue(ui.getOutput()[0].endsWith("1 other task was already marked."));
+    }
 }
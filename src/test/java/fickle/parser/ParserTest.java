@@ -9,7 +9,11 @@ import org.junit.jupiter.api.Test;
 import fickle.commands.ByeCommand;
 import fickle.commands.Command;
 import fickle.commands.DeleteCommand;
+import fickle.commands.FindCommand;
+import fickle.commands.ListCommand;
 import fickle.commands.MarkCommand;
+import fickle.commands.ScheduleCommand;
+import fickle.commands.UnmarkCommand;
 import fickle.exceptions.FickleException;
 
 public class ParserTest {
@@ -44,10 +48,25 @@ public class ParserTest {
     @Test
     public void parse_invalidListCommand_exceptionThrown() {
         try {
-            Parser.parse("list 1");
+            Parser.parse("list all");
             fail();
         } catch (FickleException e) {
-            assertEquals("The 'list' command doesn't take any arguments.", e.getMessage());
+            assertEquals("The 'list' command only takes a page number.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_pagedCommands_success() throws FickleException {
+        assertTrue(Parser.parse("list 3") instanceof ListCommand);
+        assertTrue(Parser.parse("list --page-size 200") instanceof ListCommand);
+        assertTrue(Parser.parse("find read book --page 2 --page-size 10") instanceof FindCommand);
+        assertTrue(Parser.parse("schedule 21/8/2021 --page 2") instanceof ScheduleCommand);
+
+        try {
+            Parser.parse("find book --page 0");
+            fail();
+        } catch (FickleException e) {
+            assertEquals("Please use a positive whole number for the page and page size.", e.getMessage());
         }
     }
 
@@ -67,6 +86,39 @@ public class ParserTest {
         assertTrue(c instanceof MarkCommand);
     }
 
+    @Test
+    public void parse_bulkSelections_success() throws FickleException {
+        assertTrue(Parser.parse("delete 3 7 12") instanceof DeleteCommand);
+        assertTrue(Parser.parse("mark 1-50") instanceof MarkCommand);
+        assertTrue(Parser.parse("delete done") instanceof DeleteCommand);
+
+        try {
+            Parser.parse("delete 7-3");
+            fail();
+        } catch (FickleException e) {
+            assertEquals("Please give a range from the smaller task number to the larger one.", e.getMessage());
+        }
+
+        try {
+            Parser.parse("delete 1-3 done");
+            fail();
+        } catch (FickleException e) {
+            assertEquals("Please use a valid whole number for the task.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_markDone_throwsException() throws FickleException {
+        assertTrue(Parser.parse("unmark done") instanceof UnmarkCommand);
+
+        try {
+            Parser.parse("mark done");
+            fail();
+        } catch (FickleException e) {
+            assertEquals("Done tasks are already marked. Please give the task numbers to mark.", e.getMessage());
+        }
+    }
+
     @Test
     public void parse_unmarkCommandNonIntegerInput_throwsException() {
         try {
@@ -0,0 +1,363 @@
+package fickle.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fickle.exceptions.FickleException;
+import fickle.tasks.Deadline;
+import fickle.tasks.Task;
+import fickle.tasks.TaskList;
+import fickle.tasks.Todo;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_journalReplayed_success() throws FickleException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+
+        Storage storage = new Storage(filePath);
+        storage.setJournalEnabled(true);
+        TaskList tasks = storage.load();
+
+        Task first = new Todo("read book");
+        Task second = new Deadline("return book", LocalDateTime.of(2021, 8, 21, 18, 0));
+        Task third = new Todo("buy milk");
+        for (Task task : new Task[] { first, second, third }) {
+            tasks.addTask(task);
+            storage.appendSave(task);
+        }
+
+        first.markAsDone();
+        storage.updateSave(tasks, first);
+        storage.deleteSave(tasks, tasks.deleteTask(1));
+
+        Storage reloadedStorage = new Storage(filePath);
+        reloadedStorage.setJournalEnabled(true);
+        TaskList reloaded = reloadedStorage.load();
+
+        assertEquals(2, reloaded.getSize());
+        assertEquals("[T][X] read book", reloaded.getTask(0).toString());
+        assertEquals("[T][ ] buy milk", reloaded.getTask(1).toString());
+        assertTrue(reloadedStorage.getCorruptedWarnings().isEmpty());
+    }
+
+    @Test
+    public void load_bulkChangesJournaled_success() throws FickleException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+
+        Storage storage = new Storage(filePath);
+        storage.setJournalEnabled(true);
+        TaskList tasks = storage.load();
+
+        for (int i = 0; i < 6; i++) {
+            Task task = new Todo("task " + i);
+            tasks.addTask(task);
+            storage.appendSave(task);
+        }
+
+        List<Task> markedTasks = List.of(tasks.getTask(0), tasks.getTask(1), tasks.getTask(3));
+        for (Task task : markedTasks) {
+            task.markAsDone();
+        }
+        storage.updateSave(tasks, markedTasks);
+        storage.deleteSave(tasks, tasks.deleteTasks(new int[] { 0, 2, 4 }));
+
+        Storage reloadedStorage = new Storage(filePath);
+        reloadedStorage.setJournalEnabled(true);
+        TaskList reloaded = reloadedStorage.load();
+
+        assertEquals(3, reloaded.getSize());
+        assertEquals("[T][X] task 1", reloaded.getTask(0).toString());
+        assertEquals("[T][X] task 3", reloaded.getTask(1).toString());
+        assertEquals("[T][ ] task 5", reloaded.getTask(2).toString());
+        assertTrue(reloadedStorage.getCorruptedWarnings().isEmpty());
+    }
+
+    @Test
+    public void load_corruptedJournalRecord_warningAdded() throws Exception {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Files.writeString(Path.of(filePath + ".journal"), "A | T | 0 | read book\nX\n");
+
+        Storage storage = new Storage(filePath);
+        storage.setJournalEnabled(true);
+        TaskList tasks = storage.load();
+
+        assertEquals(1, tasks.getSize());
+        assertEquals(1, storage.getCorruptedWarnings().size());
+        assertFalse(Path.of(filePath + ".journal").toFile().exists());
+    }
+
+    @Test
+    public void parallelLoader_multipleChunks_fileOrderKept() throws Exception {
+        Path file = tempDir.resolve("tasks.txt");
+        StringBuilder sb = new StringBuilder();
+        int lineCount = 40000;
+
+        for (int i = 0; i < lineCount; i++) {
+            sb.append(i == 12345 ? "X | 0 | corrupted" : "T | 0 | task " + i).append("\n");
+        }
+        Files.writeString(file, sb.toString());
+
+        List<ParsedLine> parsedLines = ParallelLoader.load(file.toFile());
+
+        assertEquals(lineCount, parsedLines.size());
+        assertEquals("Unknown Task Type", parsedLines.get(12345).getError());
+        for (int i = 0; i < lineCount; i++) {
+            if (i != 12345) {
+                assertEquals("task " + i, parsedLines.get(i).getTask().getName());
+            }
+        }
+    }
+
+    @Test
+    public void load_textFileWithBinaryFormat_migratedAndReloaded() throws Exception {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.writeString(file, "T | 1 | read book\n"
+                                        + "D | 0 | return book | 2021-08-21 1800\n"
+                                        + "E | 0 | camp | 2021-08-21 0900 | 2021-08-23 1700\n");
+
+        Storage storage = new Storage(file.toString());
+        storage.setSaveFormat(SaveFormat.BINARY);
+        TaskList tasks = storage.load();
+
+        assertTrue(BinaryFormat.isBinaryFile(file.toFile()));
+
+        storage.appendSave(new Todo("buy milk"));
+        TaskList reloaded = storage.load();
+
+        assertEquals(4, reloaded.getSize());
+        for (int i = 0; i < tasks.getSize(); i++) {
+            assertEquals(tasks.getTask(i).toStorageString(), reloaded.getTask(i).toStorageString());
+        }
+        assertEquals("T | 0 | buy milk", reloaded.getTask(3).toStorageString());
+        assertTrue(storage.getCorruptedWarnings().isEmpty());
+    }
+
+    @Test
+    public void load_sameJournalReplayedTwice_sameTasksWithoutWarnings() throws Exception {
+        Path file = tempDir.resolve("tasks.txt");
+        Path journalFile = tempDir.resolve("tasks.txt.journal");
+        String records = "M | T | call mum\n"
+                                        + "D | T | call mum\n"
+                                        + "A | T | 0 | buy milk\n"
+                                        + "M | T | buy milk\n"
+                                        + "D | T | buy milk\n"
+                                        + "M | T | read book\n";
+        Files.writeString(file, "T | 0 | read book\nT | 0 | call mum\n");
+        Files.writeString(journalFile, records);
+
+        Storage storage = new Storage(file.toString());
+        storage.setJournalEnabled(true);
+        TaskList tasks = storage.load();
+
+        // As if a compaction stopped after replacing the save file, before removing its journal
+        Files.writeString(journalFile, records);
+        TaskList replayed = storage.load();
+
+        assertEquals(1, replayed.getSize());
+        assertEquals(tasks.getTask(0).toStorageString(), replayed.getTask(0).toStorageString());
+        assertEquals("T | 1 | read book", replayed.getTask(0).toStorageString());
+        assertTrue(storage.getCorruptedWarnings().isEmpty());
+    }
+
+    @Test
+    public void overwriteSave_groupCommitWindow_savedWithoutTempFile() throws FickleException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+
+        Storage storage = new Storage(filePath);
+        storage.setGroupCommitWindow(5);
+        TaskList tasks = storage.load();
+
+        for (int i = 0; i < 100; i++) {
+            Task task = new Todo("task " + i);
+            tasks.addTask(task);
+            storage.appendSave(task);
+        }
+        storage.deleteSave(tasks, tasks.deleteTask(0));
+
+        assertEquals(99, new Storage(filePath).load().getSize());
+        assertFalse(Files.exists(Path.of(filePath + ".tmp")));
+    }
+
+    @Test
+    public void requestSync_syncFails_failureReportedToEveryWriteInWindow() throws IOException {
+        GroupCommit groupCommit = new GroupCommit(50);
+        File file = Files.createFile(tempDir.resolve("tasks.txt")).toFile();
+
+        // A directory cannot be opened for writing, so the fsync of the window fails
+        GroupCommit.Batch first = groupCommit.requestSync(file);
+        GroupCommit.Batch second = groupCommit.requestSync(tempDir.toFile());
+
+        assertSame(first, second);
+        assertThrows(IOException.class, first::await);
+        assertThrows(IOException.class, second::await);
+
+        // The failure is not reported again to writes in a later window
+        groupCommit.requestSync(file).await();
+        groupCommit.flush();
+    }
+
+    @Test
+    public void flush_jobThrowsRuntimeException_failureReportedAndWriterAlive() throws FickleException {
+        WriteBehindWriter writer = new WriteBehindWriter(null);
+        int[] writtenCount = new int[1];
+
+        writer.submit(() -> {
+            throw new IllegalStateException("failed job");
+        }, false);
+        assertThrows(FickleException.class, writer::flush);
+
+        writer.submit(() -> writtenCount[0]++, false);
+        writer.close();
+        assertEquals(1, writtenCount[0]);
+    }
+
+    @Test
+    public void read_settingsFile_modesApplied() throws FickleException, IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Path settingsPath = tempDir.resolve("fickle.properties");
+        Files.writeString(settingsPath, "format = binary\njournal = false\n");
+
+        Storage storage = new Storage(filePath);
+        StorageSettings.read(settingsPath.toString()).applyTo(storage);
+        TaskList tasks = storage.load();
+
+        Task task = new Todo("read book");
+        tasks.addTask(task);
+        storage.appendSave(task);
+
+        assertTrue(BinaryFormat.isBinaryFile(new File(filePath)));
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.journal")));
+    }
+
+    @Test
+    public void read_invalidSetting_exceptionThrown() throws IOException {
+        Path settingsPath = tempDir.resolve("fickle.properties");
+        Files.writeString(settingsPath, "groupCommitWindowMillis = -5\n");
+
+        assertThrows(FickleException.class, () -> StorageSettings.read(settingsPath.toString()));
+    }
+
+    @Test
+    public void flush_writeBehindWithGroupCommitWindow_queuedAppendsShareWindow() throws FickleException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+
+        Storage storage = new Storage(filePath);
+        storage.setGroupCommitWindow(200);
+        storage.enableWriteBehind();
+        storage.load();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 30; i++) {
+            storage.appendSave(new Todo("task " + i));
+        }
+        storage.flush();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Waiting for each append in turn would take 30 windows
+        assertTrue(elapsedMillis < 2000, "Appends took " + elapsedMillis + "ms");
+        assertEquals(30, new Storage(filePath).load().getSize());
+    }
+
+    @Test
+    public void close_writeBehind_allSavesWritten() throws FickleException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+
+        Storage storage = new Storage(filePath);
+        storage.enableWriteBehind();
+        TaskList tasks = storage.load();
+
+        for (int i = 0; i < 100; i++) {
+            Task task = new Todo("task " + i);
+            tasks.addTask(task);
+            storage.appendSave(task);
+        }
+        for (int i = 0; i < 50; i++) {
+            Task task = tasks.getTask(i);
+            task.markAsDone();
+            storage.updateSave(tasks, task);
+        }
+        storage.close();
+
+        TaskList reloaded = new Storage(filePath).load();
+        assertEquals(100, reloaded.getSize());
+        assertTrue(reloaded.getTask(49).isDone());
+        assertFalse(reloaded.getTask(50).isDone());
+    }
+
+    @Test
+    public void load_lazyLoad_sameTasksAndWarningsAsFullLoad() throws Exception {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.writeString(file, "T | 1 | read book\r\n"
+                                        + "\n"
+                                        + "D | 0 | return book | 2021-08-21 1800\n"
+                                        + "D | 1 |  return book  |  2021-08-21 1800 \n"
+                                        + "D | 0 | pay rent | 2021-02-29 1800\n"
+                                        + "E | 0 | camp | 2021-08-23 0900 | 2021-08-21 1700\n"
+                                        + "E | 0 | camp | 2021-08-21 0900 | 2021-08-23 1700 | extra\n"
+                                        + "T | 2 | sleep\n"
+                                        + "X | 0 | unknown\n"
+                                        + "T | 0 | read book");
+
+        Storage storage = new Storage(file.toString());
+        TaskList tasks = storage.load();
+
+        Storage lazyStorage = new Storage(file.toString());
+        lazyStorage.setLazyLoadEnabled(true);
+        TaskList lazyTasks = lazyStorage.load();
+
+        assertEquals(tasks.getSize(), lazyTasks.getSize());
+        assertEquals(tasks.getTask(2).toStorageString(), lazyTasks.getTask(2).toStorageString());
+        for (int i = 0; i < tasks.getSize(); i++) {
+            assertEquals(tasks.getTask(i).toStorageString(), lazyTasks.getTask(i).toStorageString());
+        }
+        assertEquals(storage.getCorruptedWarnings(), lazyStorage.getCorruptedWarnings());
+    }
+
+    @Test
+    public void load_segmentedLayout_orderKeptAcrossSegments() throws Exception {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.writeString(file, "D | 0 | return book | 2021-08-21 1800\n"
+                                        + "T | 0 | read book\n"
+                                        + "E | 0 | camp | 2021-09-01 0900 | 2021-09-03 1700\n");
+
+        Storage storage = new Storage(file.toString());
+        storage.setSegmentedLayoutEnabled(true);
+        TaskList tasks = storage.load();
+
+        assertFalse(Files.exists(file));
+
+        Task todo = new Todo("buy milk");
+        tasks.addTask(todo);
+        storage.appendSave(todo);
+        tasks.getTask(1).markAsDone();
+        storage.updateSave(tasks, tasks.getTask(1));
+        storage.deleteSave(tasks, tasks.deleteTask(2));
+
+        Storage reloadedStorage = new Storage(file.toString());
+        reloadedStorage.setSegmentedLayoutEnabled(true);
+        TaskList reloaded = reloadedStorage.load();
+
+        assertEquals(3, reloaded.getSize());
+        assertEquals("D | 0 | return book | 2021-08-21 1800", reloaded.getTask(0).toStorageString());
+        assertEquals("T | 1 | read book", reloaded.getTask(1).toStorageString());
+        assertEquals("T | 0 | buy milk", reloaded.getTask(2).toStorageString());
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.segments").resolve("2021-09.txt")));
+        assertTrue(reloadedStorage.getCorruptedWarnings().isEmpty());
+    }
+}
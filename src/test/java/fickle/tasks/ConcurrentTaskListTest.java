@@ -0,0 +1,182 @@
+package fickle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import fickle.exceptions.FickleException;
+
+public class ConcurrentTaskListTest {
+    private static final int THREAD_COUNT = 4;
+    private static final int TASKS_PER_THREAD = 5000;
+
+    @Test
+    public void addTask_concurrentWritersAndReaders_noLostUpdatesOrTornReads() throws Exception {
+        ConcurrentTaskList tasks = new ConcurrentTaskList();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT * 2);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        ArrayList<Future<?>> writers = new ArrayList<>();
+        ArrayList<Future<Boolean>> readers = new ArrayList<>();
+
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                    tasks.addTask(new Todo("task " + thread + " " + i));
+                }
+                return null;
+            }));
+            readers.add(executor.submit(() -> isEverySnapshotConsistent(tasks, isWriting)));
+        }
+
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        isWriting.set(false);
+        for (Future<Boolean> reader : readers) {
+            assertTrue(reader.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(THREAD_COUNT * TASKS_PER_THREAD, tasks.getSize());
+        assertEquals(THREAD_COUNT * TASKS_PER_THREAD, new HashSet<>(tasks.getSnapshot()).size());
+        assertEquals(TASKS_PER_THREAD, tasks.getMatchedTasks("task 1 ").size());
+    }
+
+    @Test
+    public void markAsDone_concurrentOnSameTasks_eachMarkedOnce() throws Exception {
+        ConcurrentTaskList tasks = new ConcurrentTaskList();
+        for (int i = 0; i < TASKS_PER_THREAD; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        AtomicInteger successCount = new AtomicInteger();
+        ArrayList<Future<?>> markers = new ArrayList<>();
+
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            markers.add(executor.submit(() -> {
+                for (Task task : tasks.getSnapshot()) {
+                    try {
+                        task.markAsDone();
+                        successCount.incrementAndGet();
+                    } catch (FickleException e) {
+                        // Another thread marked it first
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> marker : markers) {
+            marker.get();
+        }
+        executor.shutdown();
+
+        assertEquals(TASKS_PER_THREAD, successCount.get());
+        assertEquals(TASKS_PER_THREAD, tasks.getStatistics().getDoneCount());
+        assertTrue(tasks.isAllMarked());
+
+        tasks.getTask(0).markAsNotDone();
+        assertFalse(tasks.isAllMarked());
+    }
+
+    @Test
+    public void getMatchedTasks_largeList_sameResultsInOrder() throws FickleException {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        TaskList loadedTasks = new TaskList();
+        for (int i = 0; i < 20_000; i++) {
+            loadedTasks.addTask(new Deadline("task " + i, start.plusHours(i % 500)));
+        }
+
+        ConcurrentTaskList tasks = new ConcurrentTaskList(loadedTasks);
+        LocalDate date = LocalDate.of(2024, 1, 3);
+        List<Task> matches = tasks.getMatchedTasks("7");
+        List<Task> scheduled = tasks.getScheduledOnTasks(date);
+
+        assertEquals(loadedTasks.getMatchedTasks("7"), matches);
+        assertEquals(loadedTasks.getScheduledOnTasks(date), scheduled);
+        assertEquals(960, scheduled.size());
+    }
+
+    @Test
+    public void undo_markAndDeleteWhileOthersMark_restoredWithStatistics() throws Exception {
+        ConcurrentTaskList tasks = new ConcurrentTaskList();
+        tasks.enableHistory(10);
+        for (int i = 0; i < TASKS_PER_THREAD; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        tasks.commitVersion("add todos");
+        List<Task> original = tasks.getSnapshot();
+
+        tasks.getTask(0).markAsDone();
+        tasks.deleteTask(1);
+        tasks.commitVersion("mark 1 then delete 2");
+
+        // Undoing while other threads mark must neither deadlock nor lose a count
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        ArrayList<Future<?>> markers = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            int thread = t;
+            markers.add(executor.submit(() -> {
+                for (int i = 2 + thread; i < TASKS_PER_THREAD; i += THREAD_COUNT) {
+                    original.get(i).markAsDone();
+                }
+                return null;
+            }));
+        }
+        assertEquals("mark 1 then delete 2", tasks.undo());
+        for (Future<?> marker : markers) {
+            marker.get();
+        }
+        executor.shutdown();
+
+        assertEquals(original, tasks.getSnapshot());
+        assertFalse(tasks.getTask(0).isDone());
+        assertEquals(TASKS_PER_THREAD - 2, tasks.getStatistics().getDoneCount());
+        assertEquals(TASKS_PER_THREAD, tasks.getStatistics().getTotalCount());
+    }
+
+    // Checks that every snapshot read while the writers run is complete and never changes once taken.
+    private static boolean isEverySnapshotConsistent(ConcurrentTaskList tasks, AtomicBoolean isWriting) {
+        int previousSize = 0;
+
+        while (isWriting.get()) {
+            List<Task> snapshot = tasks.getSnapshot();
+            int size = snapshot.size();
+            int count = 0;
+
+            for (Task task : snapshot) {
+                if (task == null) {
+                    return false;
+                }
+                count++;
+            }
+
+            TaskStatistics statistics = tasks.getStatistics();
+            if (count != size || size < previousSize || snapshot.size() != size
+                    || statistics.getTotalCount() < size) {
+                return false;
+            }
+
+            previousSize = size;
+        }
+
+        return true;
+    }
+}
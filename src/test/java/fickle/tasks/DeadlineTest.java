@@ -1,7 +1,9 @@
 package fickle.tasks;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -28,4 +30,13 @@ public class DeadlineTest {
 
         assertEquals("D | 0 | testing task | 2021-08-21 1800", deadline.toStorageString());
     }
+
+    @Test
+    public void deadline_fromMinute_sameAsFromDateTime() {
+        LocalDateTime by = LocalDateTime.of(1969, 12, 31, 23, 59);
+        Deadline deadline = new Deadline("testing task", new Deadline("testing task", by).getByMinute());
+
+        assertEquals(by, deadline.getByDate());
+        assertThrows(DateTimeException.class, () -> new Deadline("testing task", Long.MAX_VALUE));
+    }
 }
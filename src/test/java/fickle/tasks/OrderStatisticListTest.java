@@ -0,0 +1,62 @@
+package fickle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class OrderStatisticListTest {
+
+    @Test
+    public void addAndRemove_positional_sameAsArrayList() {
+        OrderStatisticList<Integer> list = new OrderStatisticList<>(List.of(0, 1, 2, 3, 4));
+        ArrayList<Integer> expected = new ArrayList<>(List.of(0, 1, 2, 3, 4));
+
+        for (int i = 5; i < 1000; i++) {
+            int index = (i * 7) % (expected.size() + 1);
+            list.add(index, i);
+            expected.add(index, i);
+
+            if (i % 3 == 0) {
+                assertEquals(expected.remove(i % expected.size()), list.remove(i % list.size()));
+            }
+        }
+
+        assertEquals(expected, list);
+        assertEquals(expected.get(123), list.get(123));
+    }
+
+    @Test
+    public void snapshot_laterChanges_snapshotUnchanged() {
+        OrderStatisticList<Integer> list = new OrderStatisticList<>();
+        ArrayList<List<Integer>> snapshots = new ArrayList<>();
+        ArrayList<List<Integer>> expected = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            list.add((i * 11) % (list.size() + 1), i);
+
+            if (i % 4 == 1) {
+                list.remove((i * 5) % list.size());
+                list.set(i % list.size(), -i);
+            }
+
+            if (i % 50 == 0) {
+                snapshots.add(list.snapshot());
+                expected.add(new ArrayList<>(list));
+            }
+        }
+
+        assertEquals(expected, snapshots);
+    }
+
+    @Test
+    public void get_indexOutOfRange_exceptionThrown() {
+        OrderStatisticList<Integer> list = new OrderStatisticList<>(List.of(1, 2));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+    }
+}
@@ -0,0 +1,409 @@
+package fickle.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import fickle.exceptions.FickleException;
+
+public class TaskListTest {
+
+    @Test
+    public void addTask_duplicateOfMarkedTask_exceptionThrown() throws FickleException {
+        LocalDateTime by = LocalDateTime.of(2021, 8, 21, 18, 0);
+        TaskList tasks = new TaskList();
+
+        tasks.addTask(new Deadline("return book", by));
+        tasks.addTask(new Deadline("return book", by.plusDays(1)));
+        tasks.addTask(new Todo("return book"));
+        tasks.getTask(0).markAsDone();
+
+        assertThrows(FickleException.class, () -> tasks.addTask(new Deadline("return book", by)));
+        assertEquals(3, tasks.getSize());
+    }
+
+    @Test
+    public void addTask_afterDuplicateDeleted_success() throws FickleException {
+        TaskList tasks = new TaskList();
+
+        tasks.addTask(new Todo("read book"));
+        tasks.deleteTask(0);
+        tasks.addTask(new Todo("read book"));
+
+        assertEquals(1, tasks.getSize());
+    }
+
+    @Test
+    public void getScheduledOnTasks_afterDelete_listOrderKept() throws FickleException {
+        LocalDateTime start = LocalDateTime.of(2021, 8, 20, 9, 0);
+        TaskList tasks = new TaskList();
+
+        tasks.addTask(new Event("camp", start, start.plusDays(3)));
+        tasks.addTask(new Deadline("return book", start.plusDays(1)));
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Event("talk", start.plusDays(1), start.plusDays(1).plusHours(2)));
+        assertEquals(3, tasks.getScheduledOnTasks(LocalDate.of(2021, 8, 21)).size());
+
+        tasks.deleteTask(0);
+        tasks.addTask(new Event("concert", start.minusDays(5), start.plusDays(5)));
+
+        List<Task> scheduledTasks = tasks.getScheduledOnTasks(LocalDate.of(2021, 8, 21));
+        assertEquals(List.of(tasks.getTask(0), tasks.getTask(2), tasks.getTask(3)), scheduledTasks);
+        assertEquals(0, tasks.getScheduledOnTasks(LocalDate.of(2021, 8, 26)).size());
+    }
+
+    @Test
+    public void getScheduledBetweenTasks_eventSpansRange_groupedByDay() throws FickleException {
+        LocalDateTime start = LocalDateTime.of(2021, 8, 20, 9, 0);
+        TaskList tasks = new TaskList();
+
+        tasks.addTask(new Event("camp", start, start.plusDays(3)));
+        tasks.addTask(new Deadline("return book", start.plusDays(2)));
+        tasks.addTask(new Deadline("pay rent", start.plusDays(10)));
+        tasks.addTask(new Todo("read book"));
+
+        TreeMap<LocalDate, ArrayList<Task>> tasksByDay = tasks.getScheduledBetweenTasks(
+                LocalDate.of(2021, 8, 21), LocalDate.of(2021, 8, 25));
+
+        assertEquals(List.of(LocalDate.of(2021, 8, 21), LocalDate.of(2021, 8, 22), LocalDate.of(2021, 8, 23)),
+                List.copyOf(tasksByDay.keySet()));
+        assertEquals(List.of(tasks.getTask(0), tasks.getTask(1)), tasksByDay.get(LocalDate.of(2021, 8, 22)));
+        assertEquals(List.of(tasks.getTask(0)), tasksByDay.get(LocalDate.of(2021, 8, 23)));
+    }
+
+    @Test
+    public void getUpcomingTasks_markUnmarkDelete_soonestOpenTasksFirst() throws FickleException {
+        LocalDateTime now = LocalDateTime.of(2021, 8, 21, 12, 0);
+        TaskList tasks = new TaskList();
+
+        tasks.addTask(new Deadline("return book", now.plusDays(2)));
+        tasks.addTask(new Event("camp", now.plusDays(1), now.plusDays(3)));
+        tasks.addTask(new Deadline("pay rent", now.minusDays(1)));
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Deadline("submit report", now.plusHours(1)));
+        assertEquals(List.of(tasks.getTask(4), tasks.getTask(1)), tasks.getUpcomingTasks(now, 2));
+
+        tasks.getTask(4).markAsDone();
+        tasks.getTask(1).markAsDone();
+        tasks.getTask(1).markAsNotDone();
+        tasks.deleteTask(0);
+
+        assertEquals(List.of(tasks.getTask(0)), tasks.getUpcomingTasks(now, 5));
+        assertEquals(List.of(tasks.getTask(1)), tasks.getOverdueTasks(now));
+    }
+
+    @Test
+    public void getMatchedTasks_afterDelete_caseInsensitiveMatches() throws FickleException {
+        TaskList tasks = new TaskList();
+
+        tasks.addTask(new Todo("Read BOOK"));
+        tasks.addTask(new Todo("buy milk"));
+        tasks.addTask(new Todo("return book"));
+        assertEquals(2, tasks.getMatchedTasks("book").size());
+
+        tasks.deleteTask(0);
+        tasks.addTask(new Todo("notebook"));
+
+        assertEquals(List.of(tasks.getTask(1), tasks.getTask(2)), tasks.getMatchedTasks("book"));
+        assertEquals(List.of(tasks.getTask(1), tasks.getTask(2)), tasks.getMatchedTasks("ok"));
+        assertEquals(0, tasks.getMatchedTasks("books").size());
+    }
+
+    @Test
+    public void getStatistics_markUnmarkDelete_countsUpdated() throws FickleException {
+        LocalDateTime by = LocalDateTime.of(2021, 8, 21, 18, 0);
+        TaskList tasks = new TaskList();
+
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Deadline("return book", by));
+        tasks.getTask(1).markAsDone();
+        tasks.addTask(new Event("camp", by, by.plusDays(2)));
+        tasks.getTask(2).markAsDone();
+        tasks.getTask(2).markAsNotDone();
+
+        TaskStatistics statistics = tasks.getStatistics();
+        assertEquals(3, statistics.getTotalCount());
+        assertEquals(1, statistics.getDoneCount());
+        assertEquals(1, statistics.getDoneDeadlineCount());
+        assertEquals(0, statistics.getDoneEventCount());
+
+        Task deleted = tasks.deleteTask(2);
+        deleted.markAsDone();
+        tasks.getTask(0).markAsDone();
+
+        assertEquals(2, tasks.getStatistics().getTotalCount());
+        assertEquals(0, tasks.getStatistics().getEventCount());
+        assertTrue(tasks.isAllMarked());
+    }
+
+    @Test
+    public void getSnapshot_addAndDeleteAfter_snapshotUnchanged() throws FickleException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Todo("buy milk"));
+
+        List<Task> snapshot = tasks.getSnapshot();
+        Task first = tasks.deleteTask(0);
+        tasks.addTask(new Todo("return book"));
+
+        assertEquals(List.of(first, tasks.getTask(0)), snapshot);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+        assertEquals(2, tasks.getSize());
+    }
+
+    @Test
+    public void addTask_sameNameAcrossTypes_nameShared() throws FickleException {
+        TaskList tasks = new TaskList();
+        LocalDateTime by = LocalDateTime.of(2021, 8, 21, 18, 0);
+
+        tasks.addTask(new Todo(new String("standup")));
+        tasks.addTask(new Deadline(new String("standup"), by));
+        tasks.addTask(new Event(new String("standup"), by, by.plusHours(1)));
+
+        assertSame(tasks.getTask(0).getName(), tasks.getTask(1).getName());
+        assertSame(tasks.getTask(0).getName(), tasks.getTask(2).getName());
+    }
+
+    @Test
+    public void undo_deleteMarkAndAdd_restoredInPlaceThenRedone() throws FickleException {
+        TaskList tasks = new TaskList();
+        tasks.enableHistory(10);
+        Task book = new Deadline("return book", LocalDateTime.of(2021, 8, 21, 18, 0));
+
+        for (String name : new String[] { "read book", "buy milk", "walk dog", "call mum" }) {
+            tasks.addTask(new Todo(name));
+        }
+        tasks.commitVersion("add todos");
+        List<Task> original = tasks.getSnapshot();
+
+        tasks.deleteTasks(new int[] { 1, 2 });
+        tasks.commitVersion("delete 2 3");
+        tasks.getTask(0).markAsDone();
+        tasks.commitVersion("mark 1");
+        tasks.addTask(book);
+        tasks.commitVersion("deadline return book");
+
+        assertEquals("deadline return book", tasks.undo());
+        assertEquals("mark 1", tasks.undo());
+        assertEquals(0, tasks.getStatistics().getDoneCount());
+        assertEquals("delete 2 3", tasks.undo());
+        assertEquals(original, tasks.getSnapshot());
+        assertEquals(List.of(original.get(2)), tasks.getMatchedTasks("walk"));
+
+        assertEquals("delete 2 3", tasks.redo());
+        assertEquals("mark 1", tasks.redo());
+        assertEquals(List.of(original.get(0), original.get(3)), tasks.getSnapshot());
+        assertTrue(tasks.getTask(0).isDone());
+        assertEquals(1, tasks.getStatistics().getDoneCount());
+
+        // A new change after undoing drops the undone commands
+        tasks.deleteTask(1);
+        tasks.commitVersion("delete 2");
+        assertThrows(FickleException.class, tasks::redo);
+        assertEquals(List.of(original.get(0)), tasks.getSnapshot());
+        assertTrue(tasks.getUpcomingTasks(LocalDateTime.of(2021, 8, 1, 0, 0), 5).isEmpty());
+    }
+
+    @Test
+    public void undo_deleteAndAddSingleTask_listRestored() throws FickleException {
+        TaskList tasks = new TaskList();
+        tasks.enableHistory(10);
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Todo("buy milk"));
+        tasks.commitVersion("add todos");
+        List<Task> original = tasks.getSnapshot();
+
+        tasks.deleteTask(0);
+        tasks.commitVersion("delete 1");
+        tasks.addTask(new Todo("walk dog"));
+        tasks.commitVersion("todo walk dog");
+
+        assertEquals("todo walk dog", tasks.undo());
+        assertEquals(List.of(original.get(1)), tasks.getSnapshot());
+        assertEquals("delete 1", tasks.undo());
+        assertEquals(original, tasks.getSnapshot());
+    }
+
+    @Test
+    public void enableHistory_lazyList_nothingLoadedByCaller() throws FickleException {
+        AtomicInteger loadCount = new AtomicInteger();
+        TaskList tasks = new TaskList(new LazyTaskSource() {
+            @Override
+            public int getSize() {
+                return 3;
+            }
+
+            @Override
+            public Task loadTask(int index) {
+                // Only the tasks loaded by the caller count, not those loaded by the background thread
+                if (!Thread.currentThread().getName().equals("fickle-hydration")) {
+                    loadCount.incrementAndGet();
+                }
+                return new Todo("task " + index);
+            }
+        });
+
+        tasks.enableHistory(10);
+        assertEquals(0, loadCount.get());
+
+        tasks.getTask(1).markAsDone();
+        tasks.commitVersion("mark 2");
+        assertEquals(1, tasks.getStatistics().getDoneCount());
+
+        assertEquals("mark 2", tasks.undo());
+        assertFalse(tasks.getTask(1).isDone());
+        assertEquals(0, tasks.getStatistics().getDoneCount());
+    }
+
+    @Test
+    public void pinVersion_markAddDeleteAfterPin_versionUnchanged() throws FickleException {
+        TaskList tasks = new TaskList();
+        Todo read = new Todo("read book");
+        Todo write = new Todo("write essay");
+        Todo call = new Todo("call mum");
+        tasks.addTask(read);
+        tasks.addTask(write);
+        tasks.addTask(call);
+        write.markAsDone();
+
+        TaskListVersion version = tasks.pinVersion();
+        read.markAsDone();
+        write.markAsNotDone();
+        tasks.deleteTask(0);
+        tasks.addTask(new Todo("return book"));
+
+        List<Task> pinnedTasks = version.getTasks();
+        assertEquals(3, pinnedTasks.size());
+        assertEquals("[T][ ] read book", pinnedTasks.get(0).toString());
+        assertEquals("[T][X] write essay", pinnedTasks.get(1).toString());
+        assertTrue(read.isDone());
+        // Unchanged since the pin, so it is not copied
+        assertSame(call, pinnedTasks.get(2));
+
+        version.close();
+        assertSame(TaskStatus.DONE, read.getStatus());
+        assertSame(TaskStatus.NOT_DONE, write.getStatus());
+    }
+
+    @Test
+    public void pinVersion_markInOtherList_noHistoryKept() throws FickleException {
+        TaskList pinnedTasks = new TaskList();
+        TaskList otherTasks = new TaskList();
+        Todo read = new Todo("read book");
+        Todo write = new Todo("write essay");
+        pinnedTasks.addTask(read);
+        otherTasks.addTask(write);
+
+        try (TaskListVersion version = pinnedTasks.pinVersion()) {
+            write.markAsDone();
+            read.markAsDone();
+
+            assertSame(TaskStatus.DONE, write.getStatus());
+            assertEquals("[T][ ] read book", version.getTasks().get(0).toString());
+        }
+    }
+
+    @Test
+    public void getMatchedTasks_addAndDeleteAfterPin_versionSearched() throws FickleException {
+        LocalDateTime by = LocalDateTime.of(2024, 3, 4, 18, 0);
+        Deadline essay = new Deadline("submit essay", by);
+        Deadline report = new Deadline("submit report", by);
+        Deadline form = new Deadline("submit form", by);
+
+        TaskList loadedTasks = new TaskList();
+        loadedTasks.addTask(essay);
+        loadedTasks.addTask(report);
+
+        // Both lists start with the essay and the report
+        for (TaskList tasks : List.of(new TaskList(loadedTasks), new ConcurrentTaskList(loadedTasks))) {
+            try (TaskListVersion version = tasks.pinVersion()) {
+                tasks.deleteTask(0);
+                tasks.addTask(form);
+
+                assertEquals(List.of(essay, report), tasks.getMatchedTasks(version, "submit"));
+                assertEquals(List.of(essay, report), tasks.getScheduledOnTasks(version, by.toLocalDate()));
+                assertEquals(List.of(report, form), tasks.getMatchedTasks("submit"));
+            }
+        }
+    }
+
+    @Test
+    public void getEventConflicts_overlappingAndTouchingEvents_onlyOverlapsReported() throws FickleException {
+        TaskList tasks = new TaskList();
+        LocalDateTime nine = LocalDateTime.of(2024, 3, 4, 9, 0);
+        Event standup = new Event("standup", nine, nine.plusMinutes(30));
+        Event review = new Event("review", nine.plusMinutes(15), nine.plusHours(2));
+        Event lunch = new Event("lunch", nine.plusHours(2), nine.plusHours(3));
+        Event retreat = new Event("retreat", nine.plusDays(1), nine.plusDays(3));
+        Event offsite = new Event("offsite", nine.plusDays(2), nine.plusDays(2).plusHours(4));
+        tasks.addTask(review);
+        tasks.addTask(lunch);
+        tasks.addTask(retreat);
+        tasks.addTask(standup);
+        tasks.addTask(offsite);
+
+        ArrayList<EventConflict> conflicts = tasks.getEventConflicts();
+        assertEquals(2, conflicts.size());
+        assertSame(standup, conflicts.get(0).getFirst());
+        assertSame(review, conflicts.get(0).getSecond());
+        assertSame(retreat, conflicts.get(1).getFirst());
+        assertSame(offsite, conflicts.get(1).getSecond());
+
+        // The retreat spans the 5th, but only overlaps the offsite on the 6th
+        assertTrue(tasks.getEventConflicts(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 5)).isEmpty());
+        assertEquals(List.of(review), tasks.getOverlappingEvents(standup));
+        assertEquals(List.of(standup), tasks.getOverlappingEvents(review));
+        assertTrue(tasks.getOverlappingEvents(lunch).isEmpty());
+    }
+
+    @Test
+    public void getFuzzyMatchedTasks_typoInKeyword_closestFirst() throws FickleException {
+        TaskList tasks = new TaskList();
+        Todo notes = new Todo("team metting notes");
+        Todo meeting = new Todo("Team meeting");
+        Todo milk = new Todo("buy milk");
+        tasks.addTask(notes);
+        tasks.addTask(meeting);
+        tasks.addTask(milk);
+
+        assertEquals(List.of(meeting, notes), tasks.getFuzzyMatchedTasks("meeting", 10));
+        assertEquals(List.of(meeting), tasks.getFuzzyMatchedTasks("meeting", 1));
+
+        // Found again after being deleted and added back, without a rebuild of the index
+        tasks.deleteTask(1);
+        assertEquals(List.of(notes), tasks.getFuzzyMatchedTasks("meeting", 10));
+        tasks.addTask(meeting);
+        assertEquals(List.of(meeting, notes), tasks.getFuzzyMatchedTasks("meeting", 10));
+        assertTrue(tasks.getFuzzyMatchedTasks("laundry", 10).isEmpty());
+    }
+
+    @Test
+    public void getFuzzyMatchedTasks_shortKeywordWithTypo_found() throws FickleException {
+        TaskList tasks = new TaskList();
+        Todo read = new Todo("read book");
+        Todo write = new Todo("write essay");
+        tasks.addTask(read);
+        tasks.addTask(write);
+
+        // Each typo leaves no trigram in common with the name it should find
+        assertEquals(List.of(read), tasks.getFuzzyMatchedTasks("bok", 10));
+        assertEquals(List.of(read), tasks.getFuzzyMatchedTasks("reed", 10));
+        assertEquals(List.of(write), tasks.getFuzzyMatchedTasks("esay", 10));
+        assertEquals(List.of(write), tasks.getFuzzyMatchedTasks("wrxte", 10));
+
+        ConcurrentTaskList concurrentTasks = new ConcurrentTaskList(tasks);
+        assertEquals(List.of(read), concurrentTasks.getFuzzyMatchedTasks("bok", 10));
+        assertEquals(List.of(write), concurrentTasks.getFuzzyMatchedTasks("wrxte", 10));
+    }
+}